@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Build the backend and the benchmarks, then run every benchmark (or those matching a
+# JMH regex) with the GC profiler and write the results to results/<name>.json.
+#
+#   ./run-baseline.sh                      # full run, results/baseline.json
+#   ./run-baseline.sh after-jwt-cache Jwt  # only JwtBenchmark, results/after-jwt-cache.json
+#   QUICK=1 ./run-baseline.sh smoke        # one short fork, to check the harness works
+#
+# Allocation per operation is reported as gc.alloc.rate.norm (bytes/op).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+name="${1:-baseline}"
+shift || true
+
+(cd .. && mvn -B -q install -DskipTests)
+mvn -B -q package
+
+jmh_args=(-prof gc -rf json -rff "results/${name}.json")
+if [[ -n "${QUICK:-}" ]]; then
+    jmh_args+=(-f 1 -wi 1 -i 2 -w 200ms -r 200ms)
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar "${jmh_args[@]}" "$@"
+echo "Results written to results/${name}.json"
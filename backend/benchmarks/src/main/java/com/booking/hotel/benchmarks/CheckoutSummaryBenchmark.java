@@ -0,0 +1,106 @@
+package com.booking.hotel.benchmarks;
+
+import com.booking.hotel.dto.CheckoutSummaryDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Folio;
+import com.booking.hotel.entity.FolioLineItem;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.FolioLineItemRepository;
+import com.booking.hotel.repository.FolioRepository;
+import com.booking.hotel.repository.RoomServiceRepository;
+import com.booking.hotel.service.BookingService;
+import com.booking.hotel.service.FolioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout bill calculation through BookingService.getCheckoutSummary for a checked-in
+ * guest whose folio has every night but tonight posted. Repositories answer from memory,
+ * so this measures the bill arithmetic and DTO assembly, not the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CheckoutSummaryBenchmark {
+
+    @Param({"3", "14"})
+    int stayNights;
+
+    @Param({"0", "20"})
+    int roomServices;
+
+    private BookingService bookingService;
+    private Long bookingId;
+
+    @Setup
+    public void setUp() {
+        Room room = Fixtures.rooms(1, 0).get(0);
+        Booking booking = Fixtures.bookings(List.of(room), 1, LocalDate.now(), 7).get(0);
+        booking.setCheckInDate(LocalDate.now().minusDays(stayNights));
+        booking.setCheckOutDate(LocalDate.now());
+        booking.setStatus(Booking.BookingStatus.CHECKED_IN);
+        bookingId = booking.getId();
+
+        Folio folio = new Folio(booking);
+        folio.setId(1L);
+        List<FolioLineItem> serviceLines = new ArrayList<>();
+        BigDecimal rate = room.getPrice();
+        BigDecimal tax = rate.multiply(new BigDecimal("0.10"));
+        BigDecimal fee = BigDecimal.valueOf(3000);
+        BigDecimal services = BigDecimal.ZERO;
+        for (int i = 0; i < roomServices; i++) {
+            BigDecimal amount = BigDecimal.valueOf(5 + i % 4 * 10L).setScale(2);
+            serviceLines.add(new FolioLineItem(folio, FolioLineItem.LineType.ROOM_SERVICE,
+                    "ROOM_CLEANING - Room Service", amount));
+            services = services.add(amount);
+        }
+        int posted = stayNights - 1;
+        folio.setNightsPosted(posted);
+        folio.setRoomTotal(rate.multiply(BigDecimal.valueOf(posted)));
+        folio.setTaxTotal(tax.multiply(BigDecimal.valueOf(posted)));
+        folio.setFeeTotal(fee);
+        folio.setServiceTotal(services);
+        folio.setBalance(folio.getRoomTotal().add(folio.getTaxTotal()).add(fee).add(services));
+
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class,
+                Map.of("findById", args -> Optional.of(booking)));
+        FolioRepository folioRepository = Stubs.of(FolioRepository.class,
+                Map.of("findByBookingId", args -> Optional.of(folio)));
+        FolioLineItemRepository lineItemRepository = Stubs.of(FolioLineItemRepository.class,
+                Map.of("findByFolioAndType", args -> serviceLines));
+        FolioService folioService = new FolioService(folioRepository, lineItemRepository, bookingRepository,
+                Stubs.of(RoomServiceRepository.class, Map.of()),
+                Stubs.of(PlatformTransactionManager.class, Map.of()));
+
+        bookingService = new BookingService();
+        Stubs.inject(bookingService, "bookingRepository", bookingRepository);
+        Stubs.inject(bookingService, "folioService", folioService);
+    }
+
+    @Benchmark
+    public CheckoutSummaryDTO checkoutSummary() {
+        return bookingService.getCheckoutSummary(bookingId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.booking.hotel.benchmarks;
+
+import com.booking.hotel.entity.Amenity;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory rooms and bookings shaped like production data
+ */
+final class Fixtures {
+
+    private static final String[] FIRST_NAMES = {"Jessica", "Thomas", "Maria", "David", "Aiko", "Omar", "Lena", "Raj"};
+    private static final String[] LAST_NAMES = {"Anderson", "Martin", "Garcia", "Kim", "Nguyen", "Okafor", "Silva", "Novak"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Rooms numbered 101.., each with its own copies of the first amenitiesPerRoom amenities
+     */
+    static List<Room> rooms(int count, int amenitiesPerRoom) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Room room = new Room();
+            room.setId(1000L + i);
+            room.setRoomNumber(String.valueOf(101 + i));
+            room.setAdultCapacity(2);
+            room.setChildrenCapacity(1);
+            room.setPrice(BigDecimal.valueOf(150 + (i % 4) * 50L).setScale(2));
+            room.setRoomType(Room.RoomType.values()[i % Room.RoomType.values().length]);
+            room.setCreatedAt(createdAt);
+            room.setUpdatedAt(createdAt);
+            for (int a = 0; a < amenitiesPerRoom; a++) {
+                Amenity amenity = new Amenity("Amenity " + a, "Description of amenity " + a, "icon-" + a);
+                amenity.setId(1L + a);
+                room.getAmenities().add(amenity);
+            }
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    /**
+     * Bookings spread over the rooms from the given day onwards. Stays of one room never
+     * overlap; each starts one to three nights after the previous one leaves.
+     */
+    static List<Booking> bookings(List<Room> rooms, int count, LocalDate from, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate[] nextFree = new LocalDate[rooms.size()];
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int r = i % rooms.size();
+            Room room = rooms.get(r);
+            LocalDate checkIn = (nextFree[r] != null ? nextFree[r] : from).plusDays(random.nextInt(1, 4));
+            int nights = random.nextInt(1, 8);
+            LocalDate checkOut = checkIn.plusDays(nights);
+            nextFree[r] = checkOut;
+
+            Booking booking = new Booking();
+            booking.setId(1_000_000L + i);
+            booking.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            booking.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            booking.setPronouns("they/them");
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkOut);
+            booking.setAdultCapacity(random.nextInt(1, 3));
+            booking.setChildrenCapacity(random.nextInt(0, 2));
+            booking.setTotalAmount(room.getPrice().multiply(BigDecimal.valueOf(nights)));
+            booking.setStatus(Booking.BookingStatus.BOOKED);
+            booking.setRoom(room);
+            booking.setCreatedAt(checkIn.minusDays(30).atTime(12, 0));
+            booking.setUpdatedAt(checkIn.minusDays(30).atTime(12, 0));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,114 @@
+package com.booking.hotel.benchmarks;
+
+import com.booking.hotel.repository.RevokedTokenRepository;
+import com.booking.hotel.service.JWTTokenService;
+import com.booking.hotel.service.TokenRevocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification in JWTTokenService, configured like application.yml.
+ * The uncached service has a zero cache TTL, so every call parses and verifies. Both
+ * check revocation against REVOKED_TOKENS revoked ids loaded from a stub repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtBenchmark {
+
+    private static final String EMAIL = "admin@hotel.com";
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatIsAtLeast32CharactersLong";
+    private static final int REVOKED_TOKENS = 10_000;
+
+    private TokenRevocationService revocationService;
+    private String revokedJti;
+    private String activeJti;
+    private JWTTokenService jwtTokenService;
+    private JWTTokenService uncachedJwtTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> revoked = new ArrayList<>();
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revoked.add(new Object[]{UUID.randomUUID().toString(), expiresAt});
+        }
+        revokedJti = (String) revoked.get(REVOKED_TOKENS / 2)[0];
+        activeJti = UUID.randomUUID().toString();
+
+        RevokedTokenRepository revokedTokenRepository = Stubs.of(RevokedTokenRepository.class, Map.of(
+                "deleteExpired", args -> 0,
+                "findUnexpired", args -> revoked));
+        PlatformTransactionManager transactionManager = Stubs.of(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", args -> null));
+        revocationService = new TokenRevocationService(revokedTokenRepository, transactionManager, 10_000, 0.01);
+        revocationService.load();
+
+        jwtTokenService = new JWTTokenService(revocationService, SECRET, 86_400_000L, 10_000, 300_000L);
+        uncachedJwtTokenService = new JWTTokenService(revocationService, SECRET, 86_400_000L, 10_000, 0L);
+        token = jwtTokenService.generateToken(EMAIL, "ADMIN");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenService.generateToken(EMAIL, "ADMIN");
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtTokenService.extractEmail(token);
+    }
+
+    @Benchmark
+    public String extractEmailUncached() {
+        return uncachedJwtTokenService.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtTokenService.isTokenValid(token);
+    }
+
+    /**
+     * The call JwtAuthenticationFilter makes for every authenticated request
+     */
+    @Benchmark
+    public String authenticateRequest() {
+        return jwtTokenService.verify(token).getSubject();
+    }
+
+    /**
+     * The common case: a token that was never revoked, answered by the Bloom filter
+     */
+    @Benchmark
+    public boolean isRevokedMiss() {
+        return revocationService.isRevoked(activeJti);
+    }
+
+    @Benchmark
+    public boolean isRevokedHit() {
+        return revocationService.isRevoked(revokedJti);
+    }
+}
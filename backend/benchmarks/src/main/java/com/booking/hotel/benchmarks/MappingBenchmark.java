@@ -0,0 +1,66 @@
+package com.booking.hotel.benchmarks;
+
+import com.booking.hotel.dto.BookingResponseDTO;
+import com.booking.hotel.dto.RoomResponseDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.mapper.RoomMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping for one page of bookings and one room listing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappingBenchmark {
+
+    @Param({"20", "1000"})
+    int size;
+
+    @Param({"4"})
+    int amenitiesPerRoom;
+
+    private final RoomMapper roomMapper = new RoomMapper();
+
+    private List<Room> rooms;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        rooms = Fixtures.rooms(size, amenitiesPerRoom);
+        bookings = Fixtures.bookings(rooms, size, LocalDate.of(2026, 1, 1), 42);
+    }
+
+    @Benchmark
+    public List<BookingResponseDTO> bookingResponseDTOs() {
+        List<BookingResponseDTO> dtos = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            dtos.add(new BookingResponseDTO(booking));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<RoomResponseDTO> roomResponseDTOList() {
+        return roomMapper.toResponseDTOList(rooms);
+    }
+}
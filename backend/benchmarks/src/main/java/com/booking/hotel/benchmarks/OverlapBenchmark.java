@@ -0,0 +1,138 @@
+package com.booking.hotel.benchmarks;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.service.RoomAvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date-overlap checks against a large in-memory booking set: a linear scan with the
+ * same date predicate as BookingRepository.findStaysOverlapping, per-room interval maps
+ * as in the import sweep, and the RoomAvailabilityIndex bitsets. Each invocation
+ * answers the next of a fixed set of random stay queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OverlapBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "200000"})
+    int bookingCount;
+
+    @Param({"500"})
+    int roomCount;
+
+    private List<Room> rooms;
+    private List<Booking> bookings;
+    private Map<Long, NavigableMap<LocalDate, LocalDate>> staysByRoom;
+    private RoomAvailabilityIndex availabilityIndex;
+
+    private final Long[] queryRooms = new Long[QUERIES];
+    private final LocalDate[] queryCheckIns = new LocalDate[QUERIES];
+    private final LocalDate[] queryCheckOuts = new LocalDate[QUERIES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDate from = LocalDate.now();
+        rooms = Fixtures.rooms(roomCount, 0);
+        bookings = Fixtures.bookings(rooms, bookingCount, from, 42);
+
+        staysByRoom = new HashMap<>();
+        LocalDate last = from;
+        for (Booking booking : bookings) {
+            staysByRoom.computeIfAbsent(booking.getRoom().getId(), id -> new TreeMap<>())
+                    .put(booking.getCheckInDate(), booking.getCheckOutDate());
+            if (booking.getCheckOutDate().isAfter(last)) {
+                last = booking.getCheckOutDate();
+            }
+        }
+
+        List<Object[]> activeStays = bookings.stream()
+                .map(b -> new Object[]{b.getRoom().getId(), b.getCheckInDate(), b.getCheckOutDate()})
+                .toList();
+        availabilityIndex = new RoomAvailabilityIndex(Stubs.of(BookingRepository.class,
+                Map.of("findActiveStays", args -> activeStays)));
+        Stubs.inject(availabilityIndex, "horizonDays", (int) (last.toEpochDay() - from.toEpochDay()) + 30);
+        availabilityIndex.rebuild();
+
+        SplittableRandom random = new SplittableRandom(7);
+        int span = (int) (last.toEpochDay() - from.toEpochDay());
+        for (int i = 0; i < QUERIES; i++) {
+            queryRooms[i] = rooms.get(random.nextInt(roomCount)).getId();
+            queryCheckIns[i] = from.plusDays(random.nextInt(span));
+            queryCheckOuts[i] = queryCheckIns[i].plusDays(random.nextInt(1, 8));
+        }
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int q = nextQuery();
+        Long roomId = queryRooms[q];
+        LocalDate checkIn = queryCheckIns[q];
+        LocalDate checkOut = queryCheckOuts[q];
+        for (Booking booking : bookings) {
+            if (booking.getRoom().getId().equals(roomId)
+                    && booking.getStatus() != Booking.BookingStatus.CANCELLED
+                    && booking.getCheckInDate().isBefore(checkOut)
+                    && booking.getCheckOutDate().isAfter(checkIn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean intervalMap() {
+        int q = nextQuery();
+        NavigableMap<LocalDate, LocalDate> stays = staysByRoom.get(queryRooms[q]);
+        Map.Entry<LocalDate, LocalDate> before = stays.lowerEntry(queryCheckOuts[q]);
+        return before == null || !before.getValue().isAfter(queryCheckIns[q]);
+    }
+
+    @Benchmark
+    public boolean availabilityIndex() {
+        int q = nextQuery();
+        return availabilityIndex.isAvailable(queryRooms[q], queryCheckIns[q], queryCheckOuts[q]);
+    }
+
+    /**
+     * Every room checked for one stay, as the room search does
+     */
+    @Benchmark
+    public List<Room> filterAvailableRooms() {
+        int q = nextQuery();
+        return availabilityIndex.filterAvailable(rooms, queryCheckIns[q], queryCheckOuts[q]);
+    }
+
+    private int nextQuery() {
+        int q = next;
+        next = (q + 1) & (QUERIES - 1);
+        return q;
+    }
+}
@@ -0,0 +1,24 @@
+package com.booking.hotel.config;
+
+import com.booking.hotel.service.RoomInventoryService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryBackfillRunner implements CommandLineRunner {
+
+    private final RoomInventoryService inventoryService;
+
+    public InventoryBackfillRunner(RoomInventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Make sure every active booking holds its nights in room_nights
+        int conflicts = inventoryService.backfillMissingNights();
+        if (conflicts > 0) {
+            System.out.println(conflicts + " active bookings overlap and could not be added to room_nights");
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.booking.hotel.config;
 
 import com.booking.hotel.service.JWTTokenService;
 import com.booking.hotel.service.UserService;
-import com.booking.hotel.model.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,16 +15,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTTokenService jwtTokenService;
     private final UserService userService;
 
-    public JwtAuthenticationFilter(JWTTokenService jwtTokenService, UserService userService) {
+    // Take the role from the access token instead of looking the user up; role changes and
+    // deactivation then only apply once the user's tokens expire
+    private final boolean trustRoleClaim;
+
+    public JwtAuthenticationFilter(JWTTokenService jwtTokenService, UserService userService, boolean trustRoleClaim) {
         this.jwtTokenService = jwtTokenService;
         this.userService = userService;
+        this.trustRoleClaim = trustRoleClaim;
     }
 
     @Override
@@ -61,29 +65,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtTokenService.extractEmail(jwt);
+            // One verification covers signature, expiry and subject
+            Claims claims = jwtTokenService.verify(jwt);
+            userEmail = claims.getSubject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                if (jwtTokenService.isTokenValid(jwt, userEmail)) {
-                    Optional<User> userOptional = userService.findByEmail(userEmail);
-                    
-                    if (userOptional.isPresent()) {
-                        User user = userOptional.get();
-                        List<SimpleGrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority("ROLE_" + user.getRole().toString())
-                        );
+                String role = trustRoleClaim ? claims.get("role", String.class) : null;
+                if (role == null) {
+                    role = userService.findPrincipal(userEmail)
+                            .map(principal -> principal.role().toString())
+                            .orElse(null);
+                }
+
+                if (role != null) {
+                    List<SimpleGrantedAuthority> authorities = List.of(
+                        new SimpleGrantedAuthority("ROLE_" + role)
+                    );
 
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userEmail,
-                                null,
-                                authorities
-                        );
-                        authToken.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userEmail,
+                            null,
+                            authorities
+                    );
+                    authToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         } catch (Exception e) {
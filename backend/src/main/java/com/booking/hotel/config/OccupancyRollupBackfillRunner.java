@@ -0,0 +1,24 @@
+package com.booking.hotel.config;
+
+import com.booking.hotel.service.OccupancyRollupService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OccupancyRollupBackfillRunner implements CommandLineRunner {
+
+    private final OccupancyRollupService occupancyRollup;
+
+    public OccupancyRollupBackfillRunner(OccupancyRollupService occupancyRollup) {
+        this.occupancyRollup = occupancyRollup;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Build the rollup from booking history the first time the table is empty
+        if (occupancyRollup.isEmpty()) {
+            int days = occupancyRollup.rebuild(null, null);
+            System.out.println("Built daily occupancy rollup for " + days + " days");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.booking.hotel.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client request limits for each endpoint group, keyed by the authenticated user or,
+ * for anonymous requests, the client address. Runs after JwtAuthenticationFilter.
+ *
+ * Each client has a token bucket kept as a single timestamp (the generic cell rate
+ * algorithm): the time at which its bucket will be full again. A request is admitted by
+ * advancing that time, so there are no refill timers. Buckets live in access-ordered
+ * maps split into lock stripes; a group holds at most rate-limit.max-buckets of them and
+ * a new client evicts the least recently seen one in constant time. An evicted client
+ * starts again with a full bucket, which only matters for clients idle longer than the
+ * most recent max-buckets others.
+ *
+ * Registered only in the security filter chain, not as a servlet filter of its own.
+ * Plain reads outside the search and dashboard groups are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum Group {
+        AUTH, SEARCH, WRITES, DASHBOARD
+    }
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            ("{\"message\":\"Too many requests, please retry later\",\"status\":\"" +
+                    HttpStatus.TOO_MANY_REQUESTS.name() + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Group, Limiter> limiters = new EnumMap<>(Group.class);
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.auth.rate-per-minute:20}")
+    private int authRatePerMinute;
+
+    @Value("${rate-limit.auth.burst:10}")
+    private int authBurst;
+
+    @Value("${rate-limit.search.rate-per-minute:120}")
+    private int searchRatePerMinute;
+
+    @Value("${rate-limit.search.burst:30}")
+    private int searchBurst;
+
+    @Value("${rate-limit.writes.rate-per-minute:120}")
+    private int writesRatePerMinute;
+
+    @Value("${rate-limit.writes.burst:30}")
+    private int writesBurst;
+
+    @Value("${rate-limit.dashboard.rate-per-minute:60}")
+    private int dashboardRatePerMinute;
+
+    @Value("${rate-limit.dashboard.burst:20}")
+    private int dashboardBurst;
+
+    public RateLimitFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void initFilterBean() {
+        limiters.put(Group.AUTH, limiter(Group.AUTH, authRatePerMinute, authBurst));
+        limiters.put(Group.SEARCH, limiter(Group.SEARCH, searchRatePerMinute, searchBurst));
+        limiters.put(Group.WRITES, limiter(Group.WRITES, writesRatePerMinute, writesBurst));
+        limiters.put(Group.DASHBOARD, limiter(Group.DASHBOARD, dashboardRatePerMinute, dashboardBurst));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Group group = classify(request.getMethod(), request.getRequestURI());
+        if (group != null) {
+            long waitNanos = limiters.get(group).acquire(clientKey(request), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static Group classify(String method, String path) {
+        boolean read = "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+        if (path.startsWith("/api/auth/") || path.equals("/api/public/login")) {
+            return Group.AUTH;
+        }
+        if (!read) {
+            return Group.WRITES;
+        }
+        if (path.startsWith("/api/dashboard")) {
+            return Group.DASHBOARD;
+        }
+        if (path.equals("/api/bookings") || path.equals("/api/bookings/available-rooms")
+                || path.equals("/api/rooms/available")) {
+            return Group.SEARCH;
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        // Behind a proxy, set server.forward-headers-strategy so this is the client's address
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long retryAfterSeconds = (waitNanos + second - 1) / second;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+
+    private Limiter limiter(Group group, int ratePerMinute, int burst) {
+        if (ratePerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit for " + group + " must allow at least one request");
+        }
+        Counter rejected = meterRegistry.counter("http.rate_limited", "group", group.name().toLowerCase());
+        return new Limiter(TimeUnit.MINUTES.toNanos(1) / ratePerMinute, burst, maxBuckets, rejected);
+    }
+
+    /**
+     * Token buckets of one endpoint group, least recently used evicted first
+     */
+    static final class Limiter {
+
+        private static final int STRIPES = 16;
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter rejected;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        Limiter(long intervalNanos, int burst, int maxBuckets, Counter rejected) {
+            if (maxBuckets < 1) {
+                throw new IllegalArgumentException("Rate limit must keep at least one bucket");
+            }
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = intervalNanos * burst;
+            this.rejected = rejected;
+            int perStripe = Math.max(1, maxBuckets / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(perStripe);
+            }
+        }
+
+        /**
+         * Take one token from the client's bucket
+         *
+         * @return 0 when admitted, otherwise nanoseconds until a token is available
+         */
+        long acquire(String key, long now) {
+            Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+            long wait;
+            synchronized (stripe) {
+                long[] fullAt = stripe.computeIfAbsent(key, k -> new long[] {now});
+                long next = Math.max(fullAt[0], now) + intervalNanos;
+                wait = next - now - burstNanos;
+                if (wait <= 0) {
+                    fullAt[0] = next;
+                }
+            }
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            return 0;
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Access-ordered bucket map that drops its least recently used entry when full
+     */
+    private static final class Stripe extends LinkedHashMap<String, long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxBuckets;
+
+        Stripe(int maxBuckets) {
+            super(16, 0.75f, true);
+            this.maxBuckets = maxBuckets;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > maxBuckets;
+        }
+    }
+}
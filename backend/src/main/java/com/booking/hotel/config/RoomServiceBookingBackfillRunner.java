@@ -0,0 +1,24 @@
+package com.booking.hotel.config;
+
+import com.booking.hotel.service.RoomServiceService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoomServiceBookingBackfillRunner implements CommandLineRunner {
+
+    private final RoomServiceService roomServiceService;
+
+    public RoomServiceBookingBackfillRunner(RoomServiceService roomServiceService) {
+        this.roomServiceService = roomServiceService;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Tie room services recorded before booking_id existed to the stay they belong to
+        int linked = roomServiceService.backfillBookingLinks();
+        if (linked > 0) {
+            System.out.println("Linked " + linked + " room services to their bookings");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.booking.hotel.config;
+
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.service.SyntheticDataGenerator;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills an empty database with a synthetic dataset at startup. Enabled by the bench
+ * profile so an embedded database comes up ready for benchmarking.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.generator.run-on-startup", havingValue = "true")
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final SyntheticDataGenerator dataGenerator;
+    private final BookingRepository bookingRepository;
+
+    public SyntheticDataRunner(SyntheticDataGenerator dataGenerator, BookingRepository bookingRepository) {
+        this.dataGenerator = dataGenerator;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (bookingRepository.count() > 0) {
+            System.out.println("Skipping synthetic data generation: database already has bookings");
+            return;
+        }
+        dataGenerator.generate(null);
+    }
+}
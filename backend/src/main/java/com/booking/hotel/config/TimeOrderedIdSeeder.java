@@ -0,0 +1,52 @@
+package com.booking.hotel.config;
+
+import com.booking.hotel.entity.TimeOrderedId;
+import com.booking.hotel.entity.TimeOrderedIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.AnnotatedElement;
+
+/**
+ * Moves the time-ordered id sequence past the highest id stored in every
+ * {@link TimeOrderedId} table before the application writes anything, so ids issued by
+ * an earlier run (including seconds it borrowed ahead of the clock) are never reused.
+ */
+@Component
+public class TimeOrderedIdSeeder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TimeOrderedIdSeeder(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void seed() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                if (!entity.hasSingleIdAttribute()) {
+                    continue;
+                }
+                SingularAttribute<?, ?> id = entity.getId(entity.getIdType().getJavaType());
+                if (!(id.getJavaMember() instanceof AnnotatedElement member)
+                        || !member.isAnnotationPresent(TimeOrderedId.class)) {
+                    continue;
+                }
+                Long maxId = entityManager
+                        .createQuery("SELECT MAX(e." + id.getName() + ") FROM " + entity.getName() + " e", Long.class)
+                        .getSingleResult();
+                if (maxId != null) {
+                    TimeOrderedIdGenerator.reserveThrough(maxId);
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.booking.hotel.dto.SignupRequest;
 import com.booking.hotel.model.User;
 import com.booking.hotel.service.UserService;
 import com.booking.hotel.service.JWTTokenService;
+import com.booking.hotel.service.PasswordHashingBusyException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -54,6 +56,8 @@ public class AuthController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(responseBody);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Invalid username/email or password");
@@ -121,6 +125,8 @@ public class AuthController {
             responseBody.put("role", savedUser.getRole().toString());
 
             return ResponseEntity.ok(responseBody);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -155,6 +161,36 @@ public class AuthController {
         }
     }
 
+    /**
+     * Revoke the caller's access token, when sent as a Bearer header, and refresh token.
+     * A valid token is revoked even if the other one is rejected.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                    @RequestBody(required = false) Map<String, String> request) {
+        String refreshToken = request != null ? request.get("refresh_token") : null;
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+
+        if (refreshToken == null && accessToken == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "No token to revoke");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        // Each token is revoked on its own, so a bad refresh token cannot leave the access token live
+        boolean accessRevoked = accessToken == null || tryRevoke(accessToken);
+        boolean refreshRevoked = refreshToken == null || tryRevoke(refreshToken);
+        if (!accessRevoked || !refreshRevoked) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Invalid token");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<?> testEndpoint() {
         Map<String, String> response = new HashMap<>();
@@ -174,4 +210,21 @@ public class AuthController {
         
         return ResponseEntity.ok().headers(headers).build();
     }
+
+    private boolean tryRevoke(String token) {
+        try {
+            jwtTokenService.revoke(token);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> tooManyRequests(PasswordHashingBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
\ No newline at end of file
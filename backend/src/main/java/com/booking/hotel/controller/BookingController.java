@@ -4,6 +4,8 @@ import com.booking.hotel.dto.BookingRequestDTO;
 import com.booking.hotel.dto.BookingResponseDTO;
 import com.booking.hotel.dto.CheckInSummaryDTO;
 import com.booking.hotel.dto.CheckoutSummaryDTO;
+import com.booking.hotel.dto.CursorPageDTO;
+import com.booking.hotel.dto.GroupBookingRequestDTO;
 import com.booking.hotel.entity.Booking;
 import com.booking.hotel.entity.Room;
 import com.booking.hotel.service.BookingService;
@@ -30,17 +32,20 @@ public class BookingController {
     }
 
     /**
-     * GET /api/bookings - Get all bookings with pagination, sorting and filtering
+     * GET /api/bookings - Get all bookings with pagination, sorting and filtering.
+     * Passing a cursor (empty for the first page) switches to keyset pagination,
+     * which skips the total count and stays fast on deep pages.
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<Page<BookingResponseDTO>> getAllBookings(
+    public ResponseEntity<?> getAllBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDirection,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor
     ) {
         try {
             Booking.BookingStatus bookingStatus = null;
@@ -52,10 +57,20 @@ public class BookingController {
                 }
             }
 
+            if (cursor != null) {
+                CursorPageDTO<BookingResponseDTO> bookings = bookingService.getBookingsAfter(
+                    cursor, size, sortBy, sortDirection, search, bookingStatus
+                );
+                return ResponseEntity.ok(bookings);
+            }
+
             Page<BookingResponseDTO> bookings = bookingService.getAllBookings(
                 page, size, sortBy, sortDirection, search, bookingStatus
             );
             return ResponseEntity.ok(bookings);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -94,6 +109,24 @@ public class BookingController {
         }
     }
 
+    /**
+     * POST /api/bookings/batch - Create a group of bookings in one transaction
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<?> createGroupBooking(@Valid @RequestBody GroupBookingRequestDTO groupRequest) {
+        try {
+            List<BookingResponseDTO> createdBookings = bookingService.createGroupBooking(groupRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdBookings);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                                .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while creating the group booking"));
+        }
+    }
+
     /**
      * PUT /api/bookings/{id}/status - Update booking status
      */
@@ -1,11 +1,20 @@
 package com.booking.hotel.controller;
 
+import com.booking.hotel.dto.DashboardSnapshotDTO;
 import com.booking.hotel.dto.OccupancyRateDTO;
 import com.booking.hotel.service.DashboardService;
+import com.booking.hotel.service.DashboardSnapshotService;
+import com.booking.hotel.service.DashboardStreamService;
+import com.booking.hotel.service.OccupancyRollupService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -13,9 +22,16 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final OccupancyRollupService occupancyRollup;
+    private final DashboardStreamService dashboardStream;
+    private final DashboardSnapshotService snapshotService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, OccupancyRollupService occupancyRollup,
+                               DashboardStreamService dashboardStream, DashboardSnapshotService snapshotService) {
         this.dashboardService = dashboardService;
+        this.occupancyRollup = occupancyRollup;
+        this.dashboardStream = dashboardStream;
+        this.snapshotService = snapshotService;
     }
 
     /**
@@ -33,6 +49,52 @@ public class DashboardController {
         }
     }
 
+    /**
+     * GET /api/dashboard/snapshot - Everything the dashboard shows in one response
+     */
+    @GetMapping("/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSnapshot() {
+        try {
+            DashboardSnapshotDTO snapshot = snapshotService.getSnapshot();
+            return ResponseEntity.ok(snapshot);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while fetching the dashboard snapshot"));
+        }
+    }
+
+    /**
+     * GET /api/dashboard/stream - Live dashboard updates as server-sent events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamDashboard() {
+        return dashboardStream.subscribe();
+    }
+
+    /**
+     * POST /api/dashboard/occupancy/rebuild - Recompute the daily occupancy rollup from bookings
+     */
+    @PostMapping("/occupancy/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildOccupancy(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : null;
+            LocalDate toDate = to != null ? LocalDate.parse(to) : null;
+            int days = occupancyRollup.rebuild(fromDate, toDate);
+            return ResponseEntity.ok(Map.of("days", days));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                                .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while rebuilding occupancy data"));
+        }
+    }
+
     // Response DTOs
     public static class ErrorResponse {
         private String message;
@@ -0,0 +1,122 @@
+package com.booking.hotel.controller;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.RoomService;
+import com.booking.hotel.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    public ExportController(ExportService exportService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * GET /api/exports/bookings?from=&to=&status=&format= - Stream bookings checking in
+     * from..to (inclusive) as NDJSON (default) or CSV
+     */
+    @GetMapping("/bookings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            LocalDate startDate = LocalDate.parse(from);
+            LocalDate endDate = parseEndDate(startDate, to);
+            Booking.BookingStatus bookingStatus = status != null
+                    ? Booking.BookingStatus.valueOf(status.toUpperCase()) : null;
+            ExportService.Format exportFormat = ExportService.parseFormat(format);
+
+            StreamingResponseBody body = out ->
+                    exportService.exportBookings(startDate, endDate, bookingStatus, exportFormat, out);
+            return stream("bookings", startDate, endDate, exportFormat, body);
+        } catch (DateTimeParseException e) {
+            return badRequest("Invalid date format. Use YYYY-MM-DD");
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/exports/room-services?from=&to=&status=&format= - Stream room services
+     * requested from..to (inclusive) as NDJSON (default) or CSV
+     */
+    @GetMapping("/room-services")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRoomServices(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            LocalDate startDate = LocalDate.parse(from);
+            LocalDate endDate = parseEndDate(startDate, to);
+            RoomService.ServiceStatus serviceStatus = status != null
+                    ? RoomService.ServiceStatus.valueOf(status.toUpperCase()) : null;
+            ExportService.Format exportFormat = ExportService.parseFormat(format);
+
+            StreamingResponseBody body = out ->
+                    exportService.exportRoomServices(startDate, endDate, serviceStatus, exportFormat, out);
+            return stream("room-services", startDate, endDate, exportFormat, body);
+        } catch (DateTimeParseException e) {
+            return badRequest("Invalid date format. Use YYYY-MM-DD");
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    private static LocalDate parseEndDate(LocalDate startDate, String to) {
+        LocalDate endDate = LocalDate.parse(to);
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        return endDate;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, LocalDate startDate, LocalDate endDate,
+                                                                ExportService.Format format,
+                                                                StreamingResponseBody body) {
+        boolean csv = format == ExportService.Format.CSV;
+        String filename = name + "-" + startDate + "-" + endDate + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Streaming handlers must return a StreamingResponseBody, so errors are written as one
+     */
+    private ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        error.put("status", HttpStatus.BAD_REQUEST.name());
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
+}
@@ -0,0 +1,127 @@
+package com.booking.hotel.controller;
+
+import com.booking.hotel.dto.ImportJobDTO;
+import com.booking.hotel.dto.ImportRejectDTO;
+import com.booking.hotel.entity.ImportJob;
+import com.booking.hotel.service.ImportService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/imports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * POST /api/imports/rooms - Import rooms from a CSV or NDJSON upload
+     */
+    @PostMapping("/rooms")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importRooms(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer chunkSize) {
+        return start(ImportJob.Kind.ROOMS, file, format, chunkSize);
+    }
+
+    /**
+     * POST /api/imports/bookings - Import bookings from a CSV or NDJSON upload
+     */
+    @PostMapping("/bookings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importBookings(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer chunkSize) {
+        return start(ImportJob.Kind.BOOKINGS, file, format, chunkSize);
+    }
+
+    /**
+     * POST /api/imports/{id}/resume - Continue a failed import from its last committed
+     * chunk; upload the same file again
+     */
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> resumeImport(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            ImportJobDTO job = importService.resumeImport(id, in, file.getSize());
+            return ResponseEntity.ok(job);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read uploaded file: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/imports/{id} - Progress of an import
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getImportJob(@PathVariable Long id) {
+        try {
+            ImportJobDTO job = importService.getJob(id);
+            return ResponseEntity.ok(job);
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/imports/{id}/rejects - Rows an import rejected, with reasons
+     */
+    @GetMapping("/{id}/rejects")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getImportRejects(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        try {
+            Page<ImportRejectDTO> rejects = importService.getRejects(id, page, size);
+            return ResponseEntity.ok(rejects);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> start(ImportJob.Kind kind, MultipartFile file, String format, Integer chunkSize) {
+        if (file.isEmpty()) {
+            return error(HttpStatus.BAD_REQUEST, "Uploaded file is empty");
+        }
+        try (InputStream in = file.getInputStream()) {
+            ImportJobDTO job = importService.startImport(kind, in, file.getOriginalFilename(), file.getSize(),
+                                                         format, chunkSize);
+            return ResponseEntity.ok(job);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to import file: " + e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        error.put("status", status.name());
+        return ResponseEntity.status(status).body(error);
+    }
+}
@@ -4,9 +4,11 @@ import com.booking.hotel.dto.LoginRequest;
 import com.booking.hotel.model.User;
 import com.booking.hotel.service.UserService;
 import com.booking.hotel.service.JWTTokenService;
+import com.booking.hotel.service.PasswordHashingBusyException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -57,6 +59,8 @@ public class PublicAuthController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(responseBody);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             System.out.println("PublicAuthController - Login failed: " + e.getMessage());
             
@@ -79,4 +83,12 @@ public class PublicAuthController {
     public ResponseEntity<?> handleOptionsRequests() {
         return ResponseEntity.ok().build();
     }
+
+    private ResponseEntity<Map<String, String>> tooManyRequests(PasswordHashingBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.booking.hotel.controller;
 
+import com.booking.hotel.dto.DispatchTaskDTO;
 import com.booking.hotel.dto.RoomServiceRequestDTO;
 import com.booking.hotel.dto.RoomServiceResponseDTO;
 import com.booking.hotel.service.RoomServiceService;
@@ -8,12 +9,14 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/room-services")
@@ -109,6 +112,63 @@ public class RoomServiceController {
         }
     }
     
+    /**
+     * Claim the next room service task for the signed-in staff member
+     * POST /api/room-services/dispatch/claim?types={types}
+     */
+    @PostMapping("/dispatch/claim")
+    public ResponseEntity<?> claimNextRoomService(@RequestParam(required = false) List<String> types,
+                                                  Authentication authentication) {
+        try {
+            RoomServiceResponseDTO roomService = roomServiceService.claimNext(authentication.getName(), types);
+            if (roomService == null) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(roomService);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            error.put("status", "BAD_REQUEST");
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to claim room service: " + e.getMessage());
+            error.put("status", "INTERNAL_SERVER_ERROR");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    /**
+     * Get pending room service tasks in dispatch order
+     * GET /api/room-services/dispatch/queue?types={types}
+     */
+    @GetMapping("/dispatch/queue")
+    public ResponseEntity<List<DispatchTaskDTO>> getDispatchQueue(@RequestParam(required = false) List<String> types) {
+        try {
+            return ResponseEntity.ok(roomServiceService.getDispatchQueue(types));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Complete a room service the signed-in staff member claimed
+     * PUT /api/room-services/{id}/complete
+     */
+    @PutMapping("/{id}/complete")
+    public ResponseEntity<?> completeRoomService(@PathVariable Long id, Authentication authentication) {
+        return handleClaim(() -> roomServiceService.completeClaim(id, authentication.getName()), "complete");
+    }
+    
+    /**
+     * Return a room service the signed-in staff member claimed to the dispatch queue
+     * PUT /api/room-services/{id}/release
+     */
+    @PutMapping("/{id}/release")
+    public ResponseEntity<?> releaseRoomService(@PathVariable Long id, Authentication authentication) {
+        return handleClaim(() -> roomServiceService.releaseClaim(id, authentication.getName()), "release");
+    }
+    
     /**
      * Delete room service request
      * DELETE /api/room-services/{id}
@@ -148,6 +208,20 @@ public class RoomServiceController {
         }
     }
     
+    /**
+     * Get room services billed to a booking
+     * GET /api/room-services/booking/{bookingId}
+     */
+    @GetMapping("/booking/{bookingId}")
+    public ResponseEntity<List<RoomServiceResponseDTO>> getRoomServicesByBooking(@PathVariable Long bookingId) {
+        try {
+            List<RoomServiceResponseDTO> roomServices = roomServiceService.getRoomServicesByBooking(bookingId);
+            return ResponseEntity.ok(roomServices);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get room services by status
      * GET /api/room-services/status/{status}
@@ -210,4 +284,25 @@ public class RoomServiceController {
         response.put("timestamp", java.time.LocalDateTime.now().toString());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+    
+    private ResponseEntity<?> handleClaim(Supplier<RoomServiceResponseDTO> action, String verb) {
+        try {
+            return ResponseEntity.ok(action.get());
+        } catch (EntityNotFoundException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            error.put("status", "NOT_FOUND");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            error.put("status", "CONFLICT");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to " + verb + " room service: " + e.getMessage());
+            error.put("status", "INTERNAL_SERVER_ERROR");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.booking.hotel.controller;
 
+import com.booking.hotel.dto.SyntheticDataRequestDTO;
 import com.booking.hotel.entity.Room;
 import com.booking.hotel.entity.Room.RoomType;
 import com.booking.hotel.entity.Booking;
 import com.booking.hotel.repository.RoomRepository;
 import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.service.BookingSearchIndex;
+import com.booking.hotel.service.OccupancyRollupService;
+import com.booking.hotel.service.RoomInventoryService;
+import com.booking.hotel.service.SyntheticDataGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -14,6 +20,7 @@ import java.time.LocalDate;
 import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/seed")
@@ -26,7 +33,25 @@ public class SeedController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private RoomInventoryService inventoryService;
+
+    @Autowired
+    private OccupancyRollupService occupancyRollup;
+
+    @Autowired
+    private BookingSearchIndex searchIndex;
+
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+
+    /**
+     * POST /api/seed/load-data - Load sample rooms and bookings, then rebuild the
+     * inventory, rollup and search index over everything; admin only as the rebuilds
+     * touch the whole booking history
+     */
     @PostMapping("/load-data")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> loadSeedData() {
         try {
             // Create rooms first
@@ -34,6 +59,11 @@ public class SeedController {
             
             // Create bookings with sample data
             createBookings();
+
+            // Seeded bookings bypass BookingService, so claim their nights, roll them up and index them afterwards
+            inventoryService.backfillMissingNights();
+            occupancyRollup.rebuild(null, null);
+            searchIndex.rebuild();
             
             return ResponseEntity.ok("Seeder data loaded successfully!");
         } catch (Exception e) {
@@ -41,6 +71,23 @@ public class SeedController {
         }
     }
 
+    /**
+     * POST /api/seed/generate - Generate a large synthetic dataset for load tests and
+     * benchmarks; body fields override the booking.generator defaults
+     */
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> generateData(@RequestBody(required = false) SyntheticDataRequestDTO request) {
+        try {
+            Map<String, Long> counts = dataGenerator.generate(request);
+            return ResponseEntity.ok(counts);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error generating data: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error generating data: " + e.getMessage());
+        }
+    }
+
     private void createRooms() {
         List<Room> rooms = new ArrayList<>();
         
@@ -87,6 +87,17 @@ public class BookingResponseDTO {
         this.updatedAt = updatedAt;
     }
 
+    // Constructor for JPQL projections, which select the status as an enum
+    public BookingResponseDTO(Long id, String firstName, String lastName, String pronouns,
+                            LocalDate checkInDate, LocalDate checkOutDate, 
+                            Integer adultCapacity, Integer childrenCapacity,
+                            BigDecimal totalAmount, Booking.BookingStatus status, Long roomId, 
+                            String roomNumber, BigDecimal roomPrice,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, firstName, lastName, pronouns, checkInDate, checkOutDate, adultCapacity, childrenCapacity,
+             totalAmount, status.name(), roomId, roomNumber, roomPrice, createdAt, updatedAt);
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,73 @@
+package com.booking.hotel.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back to get the following page;
+ * it is null on the last page. No total count is computed.
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    private int size;
+
+    // Default constructor
+    public CursorPageDTO() {
+    }
+
+    // Constructor with parameters
+    public CursorPageDTO(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = size;
+    }
+
+    // Getters and setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageDTO{" +
+                "content=" + content.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasNext=" + hasNext +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.booking.hotel.dto;
+
+/**
+ * Change to today's dashboard lists caused by one booking. A null entry means the
+ * booking no longer belongs in that list.
+ */
+public class DashboardBookingDeltaDTO {
+
+    private Long bookingId;
+
+    private String status;
+
+    private CheckInSummaryDTO checkIn;
+
+    private CheckInSummaryDTO checkOut;
+
+    // Default constructor
+    public DashboardBookingDeltaDTO() {
+    }
+
+    // Constructor with parameters
+    public DashboardBookingDeltaDTO(Long bookingId, String status, CheckInSummaryDTO checkIn,
+                                    CheckInSummaryDTO checkOut) {
+        this.bookingId = bookingId;
+        this.status = status;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    // Getters and setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public CheckInSummaryDTO getCheckIn() {
+        return checkIn;
+    }
+
+    public void setCheckIn(CheckInSummaryDTO checkIn) {
+        this.checkIn = checkIn;
+    }
+
+    public CheckInSummaryDTO getCheckOut() {
+        return checkOut;
+    }
+
+    public void setCheckOut(CheckInSummaryDTO checkOut) {
+        this.checkOut = checkOut;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardBookingDeltaDTO{" +
+                "bookingId=" + bookingId +
+                ", status='" + status + '\'' +
+                ", checkIn=" + checkIn +
+                ", checkOut=" + checkOut +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.booking.hotel.dto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows, in one document. A section that failed or timed out
+ * is left null and its reason is listed in errors.
+ */
+public class DashboardSnapshotDTO {
+
+    private List<CheckInSummaryDTO> checkIns;
+
+    private List<CheckInSummaryDTO> checkOuts;
+
+    private OccupancyRateDTO occupancy;
+
+    private List<BookingResponseDTO> currentGuests;
+
+    private List<RoomServiceResponseDTO> activeRoomServices;
+
+    private Map<String, Long> bookingCounts;
+
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    private LocalDateTime generatedAt;
+
+    // Default constructor
+    public DashboardSnapshotDTO() {
+        this.generatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public List<CheckInSummaryDTO> getCheckIns() {
+        return checkIns;
+    }
+
+    public void setCheckIns(List<CheckInSummaryDTO> checkIns) {
+        this.checkIns = checkIns;
+    }
+
+    public List<CheckInSummaryDTO> getCheckOuts() {
+        return checkOuts;
+    }
+
+    public void setCheckOuts(List<CheckInSummaryDTO> checkOuts) {
+        this.checkOuts = checkOuts;
+    }
+
+    public OccupancyRateDTO getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(OccupancyRateDTO occupancy) {
+        this.occupancy = occupancy;
+    }
+
+    public List<BookingResponseDTO> getCurrentGuests() {
+        return currentGuests;
+    }
+
+    public void setCurrentGuests(List<BookingResponseDTO> currentGuests) {
+        this.currentGuests = currentGuests;
+    }
+
+    public List<RoomServiceResponseDTO> getActiveRoomServices() {
+        return activeRoomServices;
+    }
+
+    public void setActiveRoomServices(List<RoomServiceResponseDTO> activeRoomServices) {
+        this.activeRoomServices = activeRoomServices;
+    }
+
+    public Map<String, Long> getBookingCounts() {
+        return bookingCounts;
+    }
+
+    public void setBookingCounts(Map<String, Long> bookingCounts) {
+        this.bookingCounts = bookingCounts;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardSnapshotDTO{" +
+                "checkIns=" + (checkIns != null ? checkIns.size() : null) +
+                ", checkOuts=" + (checkOuts != null ? checkOuts.size() : null) +
+                ", occupancy=" + occupancy +
+                ", currentGuests=" + (currentGuests != null ? currentGuests.size() : null) +
+                ", activeRoomServices=" + (activeRoomServices != null ? activeRoomServices.size() : null) +
+                ", bookingCounts=" + bookingCounts +
+                ", errors=" + errors +
+                ", generatedAt=" + generatedAt +
+                '}';
+    }
+}
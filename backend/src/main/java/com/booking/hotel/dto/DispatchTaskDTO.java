@@ -0,0 +1,108 @@
+package com.booking.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open room service task as held by the dispatch queue. Tasks are handed out in
+ * order of their due time.
+ */
+public class DispatchTaskDTO {
+
+    private Long id;
+    private String roomNumber;
+    private String serviceType;
+    private String description;
+    private String guestName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime requestedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dueAt;
+
+    // Default constructor
+    public DispatchTaskDTO() {
+    }
+
+    // Constructor with parameters
+    public DispatchTaskDTO(Long id, String roomNumber, String serviceType, String description,
+                           String guestName, LocalDateTime requestedAt, LocalDateTime dueAt) {
+        this.id = id;
+        this.roomNumber = roomNumber;
+        this.serviceType = serviceType;
+        this.description = description;
+        this.guestName = guestName;
+        this.requestedAt = requestedAt;
+        this.dueAt = dueAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    public void setServiceType(String serviceType) {
+        this.serviceType = serviceType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public void setGuestName(String guestName) {
+        this.guestName = guestName;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchTaskDTO{" +
+                "id=" + id +
+                ", roomNumber='" + roomNumber + '\'' +
+                ", serviceType='" + serviceType + '\'' +
+                ", requestedAt=" + requestedAt +
+                ", dueAt=" + dueAt +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.booking.hotel.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GroupBookingRequestDTO {
+
+    @Valid
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 200, message = "A group booking can contain at most 200 rooms")
+    private List<BookingRequestDTO> bookings = new ArrayList<>();
+
+    // Default constructor
+    public GroupBookingRequestDTO() {
+    }
+
+    // Constructor with parameters
+    public GroupBookingRequestDTO(List<BookingRequestDTO> bookings) {
+        this.bookings = bookings;
+    }
+
+    // Getters and setters
+    public List<BookingRequestDTO> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingRequestDTO> bookings) {
+        this.bookings = bookings;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupBookingRequestDTO{" +
+                "bookings=" + bookings +
+                '}';
+    }
+}
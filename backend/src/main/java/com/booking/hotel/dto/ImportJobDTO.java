@@ -0,0 +1,159 @@
+package com.booking.hotel.dto;
+
+import com.booking.hotel.entity.ImportJob;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk import. A job that is not COMPLETED can be resumed by uploading
+ * the same file again; rows up to rowsCommitted are skipped.
+ */
+public class ImportJobDTO {
+
+    private Long id;
+    private String kind;
+    private String status;
+    private String fileName;
+    private String format;
+    private Integer chunkSize;
+    private Long rowsCommitted;
+    private Long importedRows;
+    private Long rejectedRows;
+    private String error;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime completedAt;
+
+    // Default constructor
+    public ImportJobDTO() {
+    }
+
+    // Constructor from entity
+    public ImportJobDTO(ImportJob job) {
+        this.id = job.getId();
+        this.kind = job.getKind().name();
+        this.status = job.getStatus().name();
+        this.fileName = job.getFileName();
+        this.format = job.getFormat();
+        this.chunkSize = job.getChunkSize();
+        this.rowsCommitted = job.getRowsCommitted();
+        this.importedRows = job.getImportedRows();
+        this.rejectedRows = job.getRejectedRows();
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.completedAt = job.getCompletedAt();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Long getRowsCommitted() {
+        return rowsCommitted;
+    }
+
+    public void setRowsCommitted(Long rowsCommitted) {
+        this.rowsCommitted = rowsCommitted;
+    }
+
+    public Long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(Long rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJobDTO{" +
+                "id=" + id +
+                ", kind='" + kind + '\'' +
+                ", status='" + status + '\'' +
+                ", rowsCommitted=" + rowsCommitted +
+                ", importedRows=" + importedRows +
+                ", rejectedRows=" + rejectedRows +
+                '}';
+    }
+}
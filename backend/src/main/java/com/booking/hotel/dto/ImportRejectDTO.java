@@ -0,0 +1,48 @@
+package com.booking.hotel.dto;
+
+import com.booking.hotel.entity.ImportReject;
+
+/**
+ * A row of an import file that was not imported. Rows are numbered from 1, not
+ * counting the CSV header.
+ */
+public class ImportRejectDTO {
+
+    private Long rowNumber;
+    private String message;
+
+    // Default constructor
+    public ImportRejectDTO() {
+    }
+
+    // Constructor from entity
+    public ImportRejectDTO(ImportReject reject) {
+        this.rowNumber = reject.getRowNumber();
+        this.message = reject.getMessage();
+    }
+
+    // Getters and setters
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(Long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRejectDTO{" +
+                "rowNumber=" + rowNumber +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
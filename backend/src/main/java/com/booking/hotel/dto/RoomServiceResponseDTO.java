@@ -23,6 +23,8 @@ public class RoomServiceResponseDTO {
     
     private String guestName;
     private String notes;
+    private Long bookingId;
+    private String claimedBy;
     
     // Constructors
     public RoomServiceResponseDTO() {}
@@ -38,6 +40,8 @@ public class RoomServiceResponseDTO {
         this.completedAt = roomService.getCompletedAt();
         this.guestName = roomService.getGuestName();
         this.notes = roomService.getNotes();
+        this.bookingId = roomService.getBooking() != null ? roomService.getBooking().getId() : null;
+        this.claimedBy = roomService.getClaimedBy();
     }
     
     // Getters and Setters
@@ -120,4 +124,20 @@ public class RoomServiceResponseDTO {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+    
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
 }
\ No newline at end of file
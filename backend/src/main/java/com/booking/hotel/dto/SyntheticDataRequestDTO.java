@@ -0,0 +1,130 @@
+package com.booking.hotel.dto;
+
+/**
+ * Shape of a synthetic dataset. Fields left null fall back to the booking.generator
+ * configuration.
+ */
+public class SyntheticDataRequestDTO {
+
+    private Integer rooms;
+    private Integer amenitiesPerRoom;
+    private Integer yearsOfHistory;
+    private Integer futureDays;
+    private Double baseOccupancy;
+    private Double seasonalAmplitude;
+    private Double weekendUplift;
+    private Double meanStayNights;
+    private Double cancellationRatio;
+    private Double roomServicesPerNight;
+    private Long seed;
+
+    // Default constructor
+    public SyntheticDataRequestDTO() {
+    }
+
+    // Getters and setters
+    public Integer getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(Integer rooms) {
+        this.rooms = rooms;
+    }
+
+    public Integer getAmenitiesPerRoom() {
+        return amenitiesPerRoom;
+    }
+
+    public void setAmenitiesPerRoom(Integer amenitiesPerRoom) {
+        this.amenitiesPerRoom = amenitiesPerRoom;
+    }
+
+    public Integer getYearsOfHistory() {
+        return yearsOfHistory;
+    }
+
+    public void setYearsOfHistory(Integer yearsOfHistory) {
+        this.yearsOfHistory = yearsOfHistory;
+    }
+
+    public Integer getFutureDays() {
+        return futureDays;
+    }
+
+    public void setFutureDays(Integer futureDays) {
+        this.futureDays = futureDays;
+    }
+
+    public Double getBaseOccupancy() {
+        return baseOccupancy;
+    }
+
+    public void setBaseOccupancy(Double baseOccupancy) {
+        this.baseOccupancy = baseOccupancy;
+    }
+
+    public Double getSeasonalAmplitude() {
+        return seasonalAmplitude;
+    }
+
+    public void setSeasonalAmplitude(Double seasonalAmplitude) {
+        this.seasonalAmplitude = seasonalAmplitude;
+    }
+
+    public Double getWeekendUplift() {
+        return weekendUplift;
+    }
+
+    public void setWeekendUplift(Double weekendUplift) {
+        this.weekendUplift = weekendUplift;
+    }
+
+    public Double getMeanStayNights() {
+        return meanStayNights;
+    }
+
+    public void setMeanStayNights(Double meanStayNights) {
+        this.meanStayNights = meanStayNights;
+    }
+
+    public Double getCancellationRatio() {
+        return cancellationRatio;
+    }
+
+    public void setCancellationRatio(Double cancellationRatio) {
+        this.cancellationRatio = cancellationRatio;
+    }
+
+    public Double getRoomServicesPerNight() {
+        return roomServicesPerNight;
+    }
+
+    public void setRoomServicesPerNight(Double roomServicesPerNight) {
+        this.roomServicesPerNight = roomServicesPerNight;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticDataRequestDTO{" +
+                "rooms=" + rooms +
+                ", amenitiesPerRoom=" + amenitiesPerRoom +
+                ", yearsOfHistory=" + yearsOfHistory +
+                ", futureDays=" + futureDays +
+                ", baseOccupancy=" + baseOccupancy +
+                ", seasonalAmplitude=" + seasonalAmplitude +
+                ", weekendUplift=" + weekendUplift +
+                ", meanStayNights=" + meanStayNights +
+                ", cancellationRatio=" + cancellationRatio +
+                ", roomServicesPerNight=" + roomServicesPerNight +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -11,11 +11,36 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Booking.GRAPH_ROOM, attributeNodes = @NamedAttributeNode("room")),
+    @NamedEntityGraph(name = Booking.GRAPH_ROOM_AMENITIES,
+        attributeNodes = @NamedAttributeNode(value = "room", subgraph = "room.amenities"),
+        subgraphs = @NamedSubgraph(name = "room.amenities", attributeNodes = @NamedAttributeNode("amenities")))
+})
+@Table(name = "bookings", indexes = {
+    // Keyset pagination on the default sort, with and without the status filter
+    @Index(name = "idx_bookings_created_at", columnList = "created_at"),
+    @Index(name = "idx_bookings_status_created_at", columnList = "status, created_at"),
+    // Overlap checks for one room: equality on room and status, range on the stay dates
+    @Index(name = "idx_bookings_room_status_dates", columnList = "room_id, status, check_in_date, check_out_date"),
+    // Arrivals and departures by status, e.g. today's check-ins and check-outs
+    @Index(name = "idx_bookings_status_check_in", columnList = "status, check_in_date"),
+    @Index(name = "idx_bookings_status_check_out", columnList = "status, check_out_date"),
+    // Check-in date ranges across all statuses: date-range listing, export and rollups
+    @Index(name = "idx_bookings_check_in_date", columnList = "check_in_date"),
+    // Change polling by the per-instance in-memory indexes
+    @Index(name = "idx_bookings_updated_at", columnList = "updated_at")
+})
 public class Booking {
 
+    /** Fetch plan loading the booking together with its room */
+    public static final String GRAPH_ROOM = "Booking.room";
+
+    /** Fetch plan loading the booking, its room and the room's amenities */
+    public static final String GRAPH_ROOM_AMENITIES = "Booking.roomAmenities";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -63,6 +88,15 @@ public class Booking {
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
+    // First night given up when the booking stopped holding its room, e.g. on cancellation
+    // or early checkout; null while it holds the room
+    @Column(name = "nights_released_from")
+    private LocalDate nightsReleasedFrom;
+
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -196,6 +230,14 @@ public class Booking {
         this.room = room;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -212,6 +254,14 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDate getNightsReleasedFrom() {
+        return nightsReleasedFrom;
+    }
+
+    public void setNightsReleasedFrom(LocalDate nightsReleasedFrom) {
+        this.nightsReleasedFrom = nightsReleasedFrom;
+    }
+
     public String getGuestFullName() {
         return firstName + " " + lastName;
     }
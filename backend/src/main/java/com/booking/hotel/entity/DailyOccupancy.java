@@ -0,0 +1,121 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-day occupancy rollup read by the dashboard. Rows are kept up to date by
+ * booking lifecycle deltas and can be rebuilt from bookings at any time.
+ */
+@Entity
+@Table(name = "daily_occupancy")
+public class DailyOccupancy {
+
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    @Column(name = "rooms_sold", nullable = false)
+    private Integer roomsSold = 0;
+
+    @Column(name = "arrivals", nullable = false)
+    private Integer arrivals = 0;
+
+    @Column(name = "departures", nullable = false)
+    private Integer departures = 0;
+
+    @Column(name = "cancellations", nullable = false)
+    private Integer cancellations = 0;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor for JPA
+    public DailyOccupancy() {
+    }
+
+    public DailyOccupancy(LocalDate stayDate) {
+        this.stayDate = stayDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public void setStayDate(LocalDate stayDate) {
+        this.stayDate = stayDate;
+    }
+
+    public Integer getRoomsSold() {
+        return roomsSold;
+    }
+
+    public void setRoomsSold(Integer roomsSold) {
+        this.roomsSold = roomsSold;
+    }
+
+    public Integer getArrivals() {
+        return arrivals;
+    }
+
+    public void setArrivals(Integer arrivals) {
+        this.arrivals = arrivals;
+    }
+
+    public Integer getDepartures() {
+        return departures;
+    }
+
+    public void setDepartures(Integer departures) {
+        this.departures = departures;
+    }
+
+    public Integer getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(Integer cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyOccupancy{" +
+                "stayDate=" + stayDate +
+                ", roomsSold=" + roomsSold +
+                ", arrivals=" + arrivals +
+                ", departures=" + departures +
+                ", cancellations=" + cancellations +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
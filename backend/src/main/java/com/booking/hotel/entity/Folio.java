@@ -0,0 +1,173 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A checked-in guest's running bill. Charges are posted as line items and added to the
+ * running totals in the same transaction, so the balance is always the sum of the
+ * folio's lines and never has to be recomputed.
+ */
+@Entity
+@Table(name = "folios")
+public class Folio {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false, unique = true)
+    private Booking booking;
+
+    @Column(name = "nights_posted", nullable = false)
+    private Integer nightsPosted = 0;
+
+    @Column(name = "room_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal roomTotal = BigDecimal.ZERO;
+
+    @Column(name = "tax_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal taxTotal = BigDecimal.ZERO;
+
+    @Column(name = "fee_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal feeTotal = BigDecimal.ZERO;
+
+    @Column(name = "service_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal serviceTotal = BigDecimal.ZERO;
+
+    @Column(name = "balance", nullable = false, precision = 12, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @Column(name = "opened_at", nullable = false, updatable = false)
+    private LocalDateTime openedAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default constructor for JPA
+    public Folio() {
+    }
+
+    public Folio(Booking booking) {
+        this.booking = booking;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        openedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Integer getNightsPosted() {
+        return nightsPosted;
+    }
+
+    public void setNightsPosted(Integer nightsPosted) {
+        this.nightsPosted = nightsPosted;
+    }
+
+    public BigDecimal getRoomTotal() {
+        return roomTotal;
+    }
+
+    public void setRoomTotal(BigDecimal roomTotal) {
+        this.roomTotal = roomTotal;
+    }
+
+    public BigDecimal getTaxTotal() {
+        return taxTotal;
+    }
+
+    public void setTaxTotal(BigDecimal taxTotal) {
+        this.taxTotal = taxTotal;
+    }
+
+    public BigDecimal getFeeTotal() {
+        return feeTotal;
+    }
+
+    public void setFeeTotal(BigDecimal feeTotal) {
+        this.feeTotal = feeTotal;
+    }
+
+    public BigDecimal getServiceTotal() {
+        return serviceTotal;
+    }
+
+    public void setServiceTotal(BigDecimal serviceTotal) {
+        this.serviceTotal = serviceTotal;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public LocalDateTime getOpenedAt() {
+        return openedAt;
+    }
+
+    public void setOpenedAt(LocalDateTime openedAt) {
+        this.openedAt = openedAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Folio{" +
+                "id=" + id +
+                ", nightsPosted=" + nightsPosted +
+                ", roomTotal=" + roomTotal +
+                ", taxTotal=" + taxTotal +
+                ", feeTotal=" + feeTotal +
+                ", serviceTotal=" + serviceTotal +
+                ", balance=" + balance +
+                ", closedAt=" + closedAt +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One charge on a folio. Room nights and their tax carry the stay date they were
+ * posted for; room service charges carry the service they bill.
+ */
+@Entity
+@Table(name = "folio_line_items",
+    uniqueConstraints = {
+        // A night is posted at most once per folio
+        @UniqueConstraint(name = "uk_folio_line_items_night", columnNames = {"folio_id", "type", "stay_date"})
+    },
+    indexes = {
+        @Index(name = "idx_folio_line_items_room_service", columnList = "room_service_id")
+    })
+public class FolioLineItem {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "folio_id", nullable = false)
+    private Folio folio;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private LineType type;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    @Column(name = "room_service_id")
+    private Long roomServiceId;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    public enum LineType {
+        ROOM_NIGHT, TAX, FEE, ROOM_SERVICE
+    }
+
+    // Default constructor for JPA
+    public FolioLineItem() {
+    }
+
+    public FolioLineItem(Folio folio, LineType type, String description, BigDecimal amount) {
+        this.folio = folio;
+        this.type = type;
+        this.description = description;
+        this.amount = amount;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        postedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Folio getFolio() {
+        return folio;
+    }
+
+    public void setFolio(Folio folio) {
+        this.folio = folio;
+    }
+
+    public LineType getType() {
+        return type;
+    }
+
+    public void setType(LineType type) {
+        this.type = type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public void setStayDate(LocalDate stayDate) {
+        this.stayDate = stayDate;
+    }
+
+    public Long getRoomServiceId() {
+        return roomServiceId;
+    }
+
+    public void setRoomServiceId(Long roomServiceId) {
+        this.roomServiceId = roomServiceId;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(LocalDateTime postedAt) {
+        this.postedAt = postedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FolioLineItem{" +
+                "id=" + id +
+                ", type=" + type +
+                ", description='" + description + '\'' +
+                ", amount=" + amount +
+                ", stayDate=" + stayDate +
+                ", roomServiceId=" + roomServiceId +
+                '}';
+    }
+}
@@ -0,0 +1,255 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A bulk import of rooms or bookings from an uploaded file. Rows are committed in
+ * chunks, and rowsCommitted moves forward in the same transaction as each chunk, so a
+ * failed or interrupted import resumes after the last committed row when the same
+ * file is uploaded again.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // Rows of the file up to and including this one are committed
+    @Column(name = "rows_committed", nullable = false)
+    private Long rowsCommitted = 0L;
+
+    @Column(name = "imported_rows", nullable = false)
+    private Long importedRows = 0L;
+
+    @Column(name = "rejected_rows", nullable = false)
+    private Long rejectedRows = 0L;
+
+    // Stay dates covered by imported bookings, for rebuilding the occupancy rollup
+    @Column(name = "first_stay_date")
+    private LocalDate firstStayDate;
+
+    @Column(name = "last_stay_date")
+    private LocalDate lastStayDate;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum Kind {
+        ROOMS, BOOKINGS
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    // Default constructor for JPA
+    public ImportJob() {
+    }
+
+    public ImportJob(Kind kind, String fileName, Long fileSize, String format, Integer chunkSize) {
+        this.kind = kind;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.format = format;
+        this.chunkSize = chunkSize;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Widen the covered stay dates to include [checkInDate, checkOutDate)
+     */
+    public void coverStay(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (firstStayDate == null || checkInDate.isBefore(firstStayDate)) {
+            firstStayDate = checkInDate;
+        }
+        if (lastStayDate == null || checkOutDate.isAfter(lastStayDate)) {
+            lastStayDate = checkOutDate;
+        }
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Long getRowsCommitted() {
+        return rowsCommitted;
+    }
+
+    public void setRowsCommitted(Long rowsCommitted) {
+        this.rowsCommitted = rowsCommitted;
+    }
+
+    public Long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(Long rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public LocalDate getFirstStayDate() {
+        return firstStayDate;
+    }
+
+    public void setFirstStayDate(LocalDate firstStayDate) {
+        this.firstStayDate = firstStayDate;
+    }
+
+    public LocalDate getLastStayDate() {
+        return lastStayDate;
+    }
+
+    public void setLastStayDate(LocalDate lastStayDate) {
+        this.lastStayDate = lastStayDate;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob{" +
+                "id=" + id +
+                ", kind=" + kind +
+                ", status=" + status +
+                ", fileName='" + fileName + '\'' +
+                ", rowsCommitted=" + rowsCommitted +
+                ", importedRows=" + importedRows +
+                ", rejectedRows=" + rejectedRows +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of an import file that was not imported, with the reason
+ */
+@Entity
+@Table(name = "import_rejects", indexes = {
+    @Index(name = "idx_import_rejects_job_row", columnList = "job_id, source_row")
+})
+public class ImportReject {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    private ImportJob job;
+
+    @Column(name = "source_row", nullable = false)
+    private Long rowNumber;
+
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor for JPA
+    public ImportReject() {
+    }
+
+    public ImportReject(ImportJob job, Long rowNumber, String message) {
+        this.job = job;
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ImportJob getJob() {
+        return job;
+    }
+
+    public void setJob(ImportJob job) {
+        this.job = job;
+    }
+
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(Long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReject{" +
+                "id=" + id +
+                ", rowNumber=" + rowNumber +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -22,7 +22,7 @@ public class Room {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotBlank(message = "Room number is required")
@@ -56,6 +56,10 @@ public class Room {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -161,6 +165,14 @@ public class Room {
         this.isActive = isActive;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,87 @@
+package com.booking.hotel.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * One occupied night of a room. The unique key on (room_id, night) is what prevents
+ * double bookings: two bookings that share a night cannot both insert their rows.
+ */
+@Entity
+@Table(name = "room_nights",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_nights_room_night", columnNames = {"room_id", "night"})
+    },
+    indexes = {
+        @Index(name = "idx_room_nights_booking", columnList = "booking_id")
+    })
+public class RoomNight {
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @Column(name = "night", nullable = false)
+    private LocalDate night;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+
+    // Default constructor for JPA
+    public RoomNight() {
+    }
+
+    // Constructor with parameters
+    public RoomNight(Room room, LocalDate night, Booking booking) {
+        this.room = room;
+        this.night = night;
+        this.booking = booking;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public LocalDate getNight() {
+        return night;
+    }
+
+    public void setNight(LocalDate night) {
+        this.night = night;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomNight{" +
+                "id=" + id +
+                ", night=" + night +
+                '}';
+    }
+}
@@ -11,11 +11,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "room_services")
+@Table(name = "room_services", indexes = {
+    @Index(name = "idx_room_services_booking", columnList = "booking_id"),
+    @Index(name = "idx_room_services_room_number_requested_at", columnList = "room_number, requested_at"),
+    @Index(name = "idx_room_services_requested_at", columnList = "requested_at"),
+    @Index(name = "idx_room_services_status_requested_at", columnList = "status, requested_at"),
+    // Change polling by the per-instance dispatch queue
+    @Index(name = "idx_room_services_updated_at", columnList = "updated_at")
+})
 public class RoomService {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     
     @NotBlank(message = "Room number is required")
@@ -56,6 +63,18 @@ public class RoomService {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
     
+    // Staff member working on the service, set when it is claimed from the dispatch queue
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    // The stay this service is billed to, resolved from the room number at creation
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    private Booking booking;
+    
     // Constructors
     public RoomService() {}
     
@@ -157,6 +176,30 @@ public class RoomService {
         this.notes = notes;
     }
     
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+    
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+    
+    public Booking getBooking() {
+        return booking;
+    }
+    
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+    
     // Enum for service status
     public enum ServiceStatus {
         PENDING,
@@ -0,0 +1,87 @@
+package com.booking.hotel.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered 53-bit ids: 32 bits of seconds since 2024-01-01, 5 bits of node
+ * id and a 16-bit sequence. Ids stay below 2^53 so the frontend can handle them as plain
+ * numbers, and the node bits keep them unique when several instances write to one schema.
+ *
+ * The node id is read from the {@value #NODE_SETTING} Hibernate setting.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String NODE_SETTING = "booking.id.node";
+
+    private static final long EPOCH_SECOND = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 16;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Last issued (second << SEQUENCE_BITS | sequence), shared by all entities. When a
+     * second's sequence runs out the clock simply moves on to the next second, so bursts
+     * borrow from the future instead of blocking. The state lives only in memory, so it
+     * is seeded past the highest stored id at startup (see {@link #reserveThrough(long)})
+     * to survive restarts inside a borrowed window and clocks that step backwards.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private final long node;
+
+    public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+        ConfigurationService configuration = context.getServiceRegistry().getService(ConfigurationService.class);
+        Object value = configuration.getSettings().get(NODE_SETTING);
+        this.node = value != null ? Long.parseLong(value.toString().trim()) : 0L;
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException(NODE_SETTING + " must be between 0 and " + MAX_NODE + ", was " + node);
+        }
+    }
+
+    /**
+     * Never issue an id at or below the second of the given id again. Moving on to the
+     * next whole second keeps this safe whichever node issued the id.
+     */
+    public static void reserveThrough(long id) {
+        long next = ((id >>> (NODE_BITS + SEQUENCE_BITS)) + 1) << SEQUENCE_BITS;
+        LAST.accumulateAndGet(next - 1, Math::max);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+
+    /**
+     * Next id for this node
+     */
+    public long nextId() {
+        return nextId(node);
+    }
+
+    /**
+     * Next id for the given node, for rows written without going through Hibernate, e.g.
+     * bulk JDBC inserts. Shares the sequence with the generator, so ids never collide.
+     */
+    public static long nextId(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException(NODE_SETTING + " must be between 0 and " + MAX_NODE + ", was " + node);
+        }
+        long floor = (Instant.now().getEpochSecond() - EPOCH_SECOND) << SEQUENCE_BITS;
+        long state = LAST.updateAndGet(last -> Math.max(last + 1, floor));
+
+        long second = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (second << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+}
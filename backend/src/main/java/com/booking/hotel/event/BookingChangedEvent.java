@@ -0,0 +1,27 @@
+package com.booking.hotel.event;
+
+import com.booking.hotel.dto.BookingResponseDTO;
+
+/**
+ * Published by BookingService whenever a booking is created or changes status
+ */
+public class BookingChangedEvent {
+
+    private final BookingResponseDTO booking;
+
+    public BookingChangedEvent(BookingResponseDTO booking) {
+        this.booking = booking;
+    }
+
+    public BookingResponseDTO getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingChangedEvent{" +
+                "bookingId=" + booking.getId() +
+                ", status='" + booking.getStatus() + '\'' +
+                '}';
+    }
+}
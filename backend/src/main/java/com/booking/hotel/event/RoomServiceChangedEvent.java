@@ -0,0 +1,34 @@
+package com.booking.hotel.event;
+
+import com.booking.hotel.dto.RoomServiceResponseDTO;
+
+/**
+ * Published by RoomServiceService whenever a room service request is created, updated or deleted
+ */
+public class RoomServiceChangedEvent {
+
+    private final RoomServiceResponseDTO roomService;
+    private final boolean deleted;
+
+    public RoomServiceChangedEvent(RoomServiceResponseDTO roomService, boolean deleted) {
+        this.roomService = roomService;
+        this.deleted = deleted;
+    }
+
+    public RoomServiceResponseDTO getRoomService() {
+        return roomService;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomServiceChangedEvent{" +
+                "roomServiceId=" + roomService.getId() +
+                ", status='" + roomService.getStatus() + '\'' +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
@@ -1,57 +1,110 @@
 package com.booking.hotel.repository;
 
+import com.booking.hotel.dto.BookingResponseDTO;
 import com.booking.hotel.entity.Booking;
 import com.booking.hotel.entity.Room;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
     /**
-     * Find all bookings with search functionality
+     * Select clause that reads bookings straight into response DTOs, joining the room
+     * in the same statement. No entities are loaded into the persistence context.
      */
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(:search IS NULL OR LOWER(b.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(b.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR CAST(b.room.roomNumber AS string) LIKE CONCAT('%', :search, '%')) " +
-           "AND (:status IS NULL OR b.status = :status)")
-    Page<Booking> findAllWithSearch(@Param("search") String search, 
-                                   @Param("status") Booking.BookingStatus status, 
-                                   Pageable pageable);
+    String RESPONSE_VIEW = "SELECT new com.booking.hotel.dto.BookingResponseDTO(" +
+            "b.id, b.firstName, b.lastName, b.pronouns, b.checkInDate, b.checkOutDate, " +
+            "b.adultCapacity, b.childrenCapacity, b.totalAmount, b.status, " +
+            "r.id, r.roomNumber, r.price, b.createdAt, b.updatedAt) " +
+            "FROM Booking b JOIN b.room r ";
 
     /**
-     * Find bookings by room and date range for availability checking
+     * Find booking by ID and lock the row for update
      */
-    @Query("SELECT b FROM Booking b WHERE b.room = :room AND " +
-           "b.status IN ('BOOKED', 'CHECKED_IN') AND " +
-           "((:checkInDate >= b.checkInDate AND :checkInDate < b.checkOutDate) OR " +
-           "(:checkOutDate > b.checkInDate AND :checkOutDate <= b.checkOutDate) OR " +
-           "(:checkInDate <= b.checkInDate AND :checkOutDate >= b.checkOutDate))")
-    List<Booking> findConflictingBookings(@Param("room") Room room,
-                                         @Param("checkInDate") LocalDate checkInDate,
-                                         @Param("checkOutDate") LocalDate checkOutDate);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find all bookings with search functionality as response views
+     */
+    @Query(value = RESPONSE_VIEW + "WHERE " +
+                   "(:search IS NULL OR LOWER(b.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                   "OR LOWER(b.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                   "OR r.roomNumber LIKE CONCAT('%', :search, '%')) " +
+                   "AND (:status IS NULL OR b.status = :status)",
+           countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.room r WHERE " +
+                   "(:search IS NULL OR LOWER(b.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                   "OR LOWER(b.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                   "OR r.roomNumber LIKE CONCAT('%', :search, '%')) " +
+                   "AND (:status IS NULL OR b.status = :status)")
+    Page<BookingResponseDTO> findViewsWithSearch(@Param("search") String search,
+                                                 @Param("status") Booking.BookingStatus status,
+                                                 Pageable pageable);
+
+    /**
+     * Searchable fields of bookings after the given id, for loading the search index
+     */
+    @Query("SELECT b.id, b.firstName, b.lastName, b.room.roomNumber, b.status FROM Booking b " +
+           "WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findSearchRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Searchable fields of bookings written since the given time, on any instance
+     */
+    @Query("SELECT b.id, b.firstName, b.lastName, b.room.roomNumber, b.status FROM Booking b " +
+           "WHERE b.updatedAt > :since")
+    List<Object[]> findSearchRowsChangedSince(@Param("since") LocalDateTime since);
 
     /**
-     * Find bookings by date range
+     * Find the response view of one booking
      */
-    @Query("SELECT b FROM Booking b WHERE " +
-           "b.checkInDate >= :startDate AND b.checkInDate <= :endDate")
-    List<Booking> findByDateRange(@Param("startDate") LocalDate startDate, 
-                                 @Param("endDate") LocalDate endDate);
+    @Query(RESPONSE_VIEW + "WHERE b.id = :id")
+    Optional<BookingResponseDTO> findViewById(@Param("id") Long id);
+
+    /**
+     * Find response views by id
+     */
+    @Query(RESPONSE_VIEW + "WHERE b.id IN :ids")
+    List<BookingResponseDTO> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find response views of bookings checking in within [startDate, endBefore)
+     */
+    @Query(RESPONSE_VIEW + "WHERE b.checkInDate >= :startDate AND b.checkInDate < :endBefore")
+    List<BookingResponseDTO> findViewsByDateRange(@Param("startDate") LocalDate startDate,
+                                                  @Param("endBefore") LocalDate endBefore);
 
     /**
      * Find bookings by room
      */
     List<Booking> findByRoom(Room room);
 
+    /**
+     * Find a booking with its room and the room's amenities
+     */
+    @EntityGraph(Booking.GRAPH_ROOM_AMENITIES)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findWithRoomAmenitiesById(@Param("id") Long id);
+
     /**
      * Find bookings by status
      */
@@ -60,6 +113,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     /**
      * Find bookings by room number and status
      */
+    @EntityGraph(Booking.GRAPH_ROOM)
     @Query("SELECT b FROM Booking b WHERE b.room.roomNumber = :roomNumber AND b.status = :status")
     List<Booking> findByRoomNumberAndStatus(@Param("roomNumber") String roomNumber, 
                                            @Param("status") Booking.BookingStatus status);
@@ -70,50 +124,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     long countByStatus(Booking.BookingStatus status);
 
     /**
-     * Find upcoming check-ins (today or in the future)
+     * Count bookings for every status in one query
      */
-    @Query("SELECT b FROM Booking b WHERE b.checkInDate >= :today AND b.status = 'BOOKED'")
-    List<Booking> findUpcomingCheckIns(@Param("today") LocalDate today);
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countGroupByStatus();
+
+    /**
+     * Find response views of upcoming check-ins
+     */
+    @Query(RESPONSE_VIEW + "WHERE b.checkInDate >= :today AND b.status = 'BOOKED'")
+    List<BookingResponseDTO> findUpcomingCheckInViews(@Param("today") LocalDate today);
 
     /**
      * Find today's check-ins
      */
+    @EntityGraph(Booking.GRAPH_ROOM)
     @Query("SELECT b FROM Booking b WHERE b.checkInDate = :today AND b.status = 'BOOKED'")
     List<Booking> findTodayCheckIns(@Param("today") LocalDate today);
 
     /**
      * Find today's check-outs
      */
+    @EntityGraph(Booking.GRAPH_ROOM)
     @Query("SELECT b FROM Booking b WHERE b.checkOutDate = :today AND b.status = 'CHECKED_IN'")
     List<Booking> findTodayCheckOuts(@Param("today") LocalDate today);
 
     /**
      * Find current guests (checked in)
      */
+    @EntityGraph(Booking.GRAPH_ROOM)
     @Query("SELECT b FROM Booking b WHERE b.status = 'CHECKED_IN'")
     List<Booking> findCurrentGuests();
 
     /**
-     * Check if room is available for booking dates
+     * Find response views of current guests
      */
-    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN false ELSE true END FROM Booking b WHERE " +
-           "b.room = :room AND b.status IN ('BOOKED', 'CHECKED_IN') AND " +
-           "((:checkInDate >= b.checkInDate AND :checkInDate < b.checkOutDate) OR " +
-           "(:checkOutDate > b.checkInDate AND :checkOutDate <= b.checkOutDate) OR " +
-           "(:checkInDate <= b.checkInDate AND :checkOutDate >= b.checkOutDate))")
-    boolean isRoomAvailable(@Param("room") Room room,
-                           @Param("checkInDate") LocalDate checkInDate,
-                           @Param("checkOutDate") LocalDate checkOutDate);
+    @Query(RESPONSE_VIEW + "WHERE b.status = 'CHECKED_IN'")
+    List<BookingResponseDTO> findCurrentGuestViews();
 
     /**
      * Find available rooms for given date range and capacity
      */
-    @Query("SELECT r FROM Room r WHERE r NOT IN (" +
-           "SELECT b.room FROM Booking b WHERE " +
+    @Query("SELECT r FROM Room r WHERE NOT EXISTS (" +
+           "SELECT 1 FROM Booking b WHERE b.room = r AND " +
            "b.status IN ('BOOKED', 'CHECKED_IN') AND " +
-           "((:checkInDate >= b.checkInDate AND :checkInDate < b.checkOutDate) OR " +
-           "(:checkOutDate > b.checkInDate AND :checkOutDate <= b.checkOutDate) OR " +
-           "(:checkInDate <= b.checkInDate AND :checkOutDate >= b.checkOutDate))" +
+           "b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate" +
            ") AND r.adultCapacity >= :adultCapacity AND r.childrenCapacity >= :childrenCapacity")
     List<Room> findAvailableRooms(@Param("checkInDate") LocalDate checkInDate,
                                  @Param("checkOutDate") LocalDate checkOutDate,
@@ -121,25 +176,62 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                  @Param("childrenCapacity") Integer childrenCapacity);
 
     /**
-     * Count occupied rooms for a specific date
+     * Find room id and stay dates of active bookings that end after the given date
      */
-    @Query("SELECT COUNT(DISTINCT b.room) FROM Booking b WHERE " +
-           "b.status IN ('BOOKED', 'CHECKED_IN') AND " +
-           ":date >= b.checkInDate AND :date < b.checkOutDate")
-    long countOccupiedRooms(@Param("date") LocalDate date);
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE " +
+           "b.status IN ('BOOKED', 'CHECKED_IN') AND b.checkOutDate > :from")
+    List<Object[]> findActiveStays(@Param("from") LocalDate from);
+
+    /**
+     * Find room id and stay dates of active bookings of the given rooms that end after the given date
+     */
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE " +
+           "b.room.id IN :roomIds AND b.status IN ('BOOKED', 'CHECKED_IN') AND b.checkOutDate > :from")
+    List<Object[]> findActiveStaysOfRooms(@Param("roomIds") Collection<Long> roomIds, @Param("from") LocalDate from);
+
+    /**
+     * Find the rooms of bookings written since the given time, on any instance
+     */
+    @Query("SELECT DISTINCT b.room.id FROM Booking b WHERE b.updatedAt > :since")
+    List<Long> findRoomIdsChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Room id, check-in and check-out of non-cancelled bookings of the given rooms that
+     * overlap [from, to)
+     */
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE " +
+           "b.room.id IN :roomIds AND b.status IN ('BOOKED', 'CHECKED_IN', 'CHECKED_OUT') AND " +
+           "b.checkInDate < :to AND b.checkOutDate > :from")
+    List<Object[]> findStaysOverlapping(@Param("roomIds") Collection<Long> roomIds,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Earliest check-in and latest check-out over all bookings
+     */
+    @Query("SELECT MIN(b.checkInDate), MAX(b.checkOutDate) FROM Booking b")
+    List<Object[]> findStayDateBounds();
+
+    /**
+     * Rollup inputs for bookings that arrive, stay or depart within [from, to)
+     */
+    @Query("SELECT b.checkInDate, b.checkOutDate, b.status, b.totalAmount, b.nightsReleasedFrom FROM Booking b WHERE " +
+           "b.checkInDate < :to AND b.checkOutDate >= :from")
+    List<Object[]> findRollupRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
     /**
-     * Get weekly occupancy data for dashboard chart
+     * Stream bookings checking in within [from, before) for export, optionally of one
+     * status, with their rooms. Rows are read from a forward-only cursor; the caller must
+     * consume the stream inside a transaction and close it.
      */
-    @Query("SELECT " +
-           "FUNCTION('DAY', b.checkInDate), " +
-           "COUNT(CASE WHEN b.status = 'BOOKED' OR b.status = 'CHECKED_IN' THEN 1 END), " +
-           "COUNT(CASE WHEN b.status = 'CANCELLED' THEN 1 END) " +
-           "FROM Booking b WHERE b.checkInDate >= :startDate AND b.checkInDate <= :endDate " +
-           "GROUP BY FUNCTION('DAY', b.checkInDate) " +
-           "ORDER BY FUNCTION('DAY', b.checkInDate)")
-    List<Object[]> getWeeklyOccupancyData(@Param("startDate") LocalDate startDate, 
-                                         @Param("endDate") LocalDate endDate);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room WHERE b.checkInDate >= :from AND b.checkInDate < :before " +
+           "AND (:status IS NULL OR b.status = :status) ORDER BY b.checkInDate, b.id")
+    Stream<Booking> streamForExport(@Param("from") LocalDate from, @Param("before") LocalDate before,
+                                    @Param("status") Booking.BookingStatus status);
 
     /**
      * Check if booking exists by first name, last name and check-in date
@@ -0,0 +1,18 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.Booking;
+
+import java.util.List;
+
+/**
+ * Booking queries that Spring Data cannot derive
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Keyset page: bookings ordered by (sortBy, id) that come strictly after the given
+     * position. A null afterId starts from the beginning. No count query is run.
+     */
+    List<Booking> findPageAfter(String search, Booking.BookingStatus status, String sortBy, boolean descending,
+                                Comparable<?> afterValue, Long afterId, int limit);
+}
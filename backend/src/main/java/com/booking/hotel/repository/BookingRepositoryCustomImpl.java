@@ -0,0 +1,67 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Booking> findPageAfter(String search, Booking.BookingStatus status, String sortBy, boolean descending,
+                                       Comparable<?> afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        // Responses include the room number, so load rooms with the page
+        Fetch<Booking, ?> roomFetch = booking.fetch("room");
+        Join<Booking, ?> room = (Join<Booking, ?>) roomFetch;
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (search != null) {
+            String pattern = "%" + search.toLowerCase() + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(booking.get("firstName")), pattern),
+                    cb.like(cb.lower(booking.get("lastName")), pattern),
+                    cb.like(room.get("roomNumber"), "%" + search + "%")));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(booking.get("status"), status));
+        }
+
+        Expression<Comparable<Object>> sortKey = booking.get(sortBy);
+        Expression<Long> id = booking.get("id");
+        if (afterId != null) {
+            Comparable<Object> value = (Comparable<Object>) afterValue;
+            predicates.add(descending
+                    ? cb.or(cb.lessThan(sortKey, value),
+                            cb.and(cb.equal(sortKey, value), cb.lessThan(id, afterId)))
+                    : cb.or(cb.greaterThan(sortKey, value),
+                            cb.and(cb.equal(sortKey, value), cb.greaterThan(id, afterId))));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(descending
+                        ? List.of(cb.desc(sortKey), cb.desc(id))
+                        : List.of(cb.asc(sortKey), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
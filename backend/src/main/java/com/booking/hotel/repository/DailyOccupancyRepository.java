@@ -0,0 +1,43 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.DailyOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyOccupancyRepository extends JpaRepository<DailyOccupancy, LocalDate> {
+
+    /**
+     * Find rollup rows for a date range (inclusive)
+     */
+    List<DailyOccupancy> findByStayDateBetweenOrderByStayDateAsc(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Add deltas to a day's row, creating it when missing
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_occupancy " +
+                   "(stay_date, rooms_sold, arrivals, departures, cancellations, revenue, updated_at) " +
+                   "VALUES (:date, :roomsSold, :arrivals, :departures, :cancellations, :revenue, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "rooms_sold = rooms_sold + VALUES(rooms_sold), " +
+                   "arrivals = arrivals + VALUES(arrivals), " +
+                   "departures = departures + VALUES(departures), " +
+                   "cancellations = cancellations + VALUES(cancellations), " +
+                   "revenue = revenue + VALUES(revenue), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int applyDelta(@Param("date") LocalDate date,
+                   @Param("roomsSold") int roomsSold,
+                   @Param("arrivals") int arrivals,
+                   @Param("departures") int departures,
+                   @Param("cancellations") int cancellations,
+                   @Param("revenue") BigDecimal revenue);
+}
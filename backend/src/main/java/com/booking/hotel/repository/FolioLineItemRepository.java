@@ -0,0 +1,27 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.FolioLineItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FolioLineItemRepository extends JpaRepository<FolioLineItem, Long> {
+
+    /**
+     * Find a folio's lines of one type, newest first
+     */
+    @Query("SELECT l FROM FolioLineItem l WHERE l.folio.id = :folioId AND l.type = :type ORDER BY l.id DESC")
+    List<FolioLineItem> findByFolioAndType(@Param("folioId") Long folioId,
+                                           @Param("type") FolioLineItem.LineType type);
+
+    /**
+     * Find the line billing a room service, if it was posted
+     */
+    @Query("SELECT l FROM FolioLineItem l JOIN FETCH l.folio WHERE l.roomServiceId = :roomServiceId")
+    Optional<FolioLineItem> findByRoomServiceId(@Param("roomServiceId") Long roomServiceId);
+}
@@ -0,0 +1,28 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.Folio;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FolioRepository extends JpaRepository<Folio, Long> {
+
+    /**
+     * Find a booking's folio
+     */
+    @Query("SELECT f FROM Folio f WHERE f.booking.id = :bookingId")
+    Optional<Folio> findByBookingId(@Param("bookingId") Long bookingId);
+
+    /**
+     * Find a booking's folio and lock the row so postings apply one at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Folio f WHERE f.booking.id = :bookingId")
+    Optional<Folio> findByBookingIdForUpdate(@Param("bookingId") Long bookingId);
+}
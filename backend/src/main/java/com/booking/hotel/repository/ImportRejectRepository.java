@@ -0,0 +1,20 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.ImportReject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportRejectRepository extends JpaRepository<ImportReject, Long> {
+
+    /**
+     * Find the rejected rows of an import job in file order
+     */
+    @Query(value = "SELECT r FROM ImportReject r WHERE r.job.id = :jobId ORDER BY r.rowNumber",
+           countQuery = "SELECT COUNT(r) FROM ImportReject r WHERE r.job.id = :jobId")
+    Page<ImportReject> findByJobId(@Param("jobId") Long jobId, Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, Long> {
+
+    /**
+     * Find nights already taken for a set of rooms in [from, to)
+     */
+    @Query("SELECT rn.room.id, rn.night FROM RoomNight rn WHERE " +
+           "rn.room.id IN :roomIds AND rn.night >= :from AND rn.night < :to")
+    List<Object[]> findTakenNights(@Param("roomIds") Collection<Long> roomIds,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    /**
+     * Release the nights of a booking starting from the given date
+     */
+    @Modifying
+    @Query("DELETE FROM RoomNight rn WHERE rn.booking = :booking AND rn.night >= :from")
+    int releaseNights(@Param("booking") Booking booking, @Param("from") LocalDate from);
+
+    /**
+     * Delete nights that are already in the past
+     */
+    @Modifying
+    @Query("DELETE FROM RoomNight rn WHERE rn.night < :cutoff")
+    int deleteNightsBefore(@Param("cutoff") LocalDate cutoff);
+
+    /**
+     * Find active bookings that still have nights ahead but no inventory rows
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room WHERE " +
+           "b.status IN ('BOOKED', 'CHECKED_IN') AND b.checkOutDate > :today " +
+           "AND NOT EXISTS (SELECT rn FROM RoomNight rn WHERE rn.booking = b)")
+    List<Booking> findActiveBookingsWithoutNights(@Param("today") LocalDate today);
+}
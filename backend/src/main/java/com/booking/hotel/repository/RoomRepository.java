@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,6 +21,11 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     Optional<Room> findByRoomNumber(String roomNumber);
 
+    /**
+     * Find rooms by room number
+     */
+    List<Room> findByRoomNumberIn(Collection<String> roomNumbers);
+
     /**
      * Check if room number exists
      */
@@ -58,6 +65,17 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     Page<Room> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
+    /**
+     * Find rooms by IDs in a deterministic order
+     */
+    List<Room> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Find rooms that fit the requested capacity
+     */
+    List<Room> findByAdultCapacityGreaterThanEqualAndChildrenCapacityGreaterThanEqual(Integer adultCapacity,
+                                                                                     Integer childrenCapacity);
+
     /**
      * Count total rooms
      */
@@ -1,13 +1,18 @@
 package com.booking.hotel.repository;
 
 import com.booking.hotel.entity.RoomService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoomServiceRepository extends JpaRepository<RoomService, Long> {
@@ -23,10 +28,32 @@ public interface RoomServiceRepository extends JpaRepository<RoomService, Long>
     List<RoomService> findByStatusOrderByRequestedAtDesc(RoomService.ServiceStatus status);
     
     /**
-     * Find all room services created today
+     * Find room services written since the given time, on any instance
      */
-    @Query("SELECT rs FROM RoomService rs WHERE DATE(rs.requestedAt) = CURRENT_DATE ORDER BY rs.requestedAt DESC")
-    List<RoomService> findTodayServices();
+    @Query("SELECT rs FROM RoomService rs WHERE rs.updatedAt > :since")
+    List<RoomService> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Find all room services requested within [from, before)
+     */
+    @Query("SELECT rs FROM RoomService rs WHERE rs.requestedAt >= :from AND rs.requestedAt < :before " +
+           "ORDER BY rs.requestedAt DESC")
+    List<RoomService> findRequestedBetween(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before);
+
+    /**
+     * Stream room services requested within [from, before) for export, optionally of one
+     * status. Rows are read from a forward-only cursor; the caller must consume the stream
+     * inside a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT rs FROM RoomService rs WHERE rs.requestedAt >= :from AND rs.requestedAt < :before " +
+           "AND (:status IS NULL OR rs.status = :status) ORDER BY rs.requestedAt, rs.id")
+    Stream<RoomService> streamForExport(@Param("from") LocalDateTime from, @Param("before") LocalDateTime before,
+                                        @Param("status") RoomService.ServiceStatus status);
     
     /**
      * Find all pending and in-progress room services
@@ -45,6 +72,60 @@ public interface RoomServiceRepository extends JpaRepository<RoomService, Long>
     @Query("SELECT rs FROM RoomService rs WHERE rs.requestedAt BETWEEN :startDate AND :endDate ORDER BY rs.requestedAt DESC")
     List<RoomService> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Find all room services billed to a booking
+     */
+    @Query("SELECT rs FROM RoomService rs WHERE rs.booking.id = :bookingId ORDER BY rs.requestedAt DESC")
+    List<RoomService> findByBookingId(@Param("bookingId") Long bookingId);
+    
+    /**
+     * Find completed room services billed to a booking
+     */
+    @Query("SELECT rs FROM RoomService rs WHERE rs.booking.id = :bookingId AND rs.status = 'COMPLETED' " +
+           "ORDER BY rs.completedAt ASC")
+    List<RoomService> findCompletedByBookingId(@Param("bookingId") Long bookingId);
+    
+    /**
+     * Link services created before room services carried a booking to the stay they
+     * were requested during, preferring the most recent arrival on turnover days
+     */
+    @Modifying
+    @Query(value = "UPDATE room_services rs SET rs.booking_id = (" +
+                   "SELECT b.id FROM bookings b JOIN rooms r ON r.id = b.room_id " +
+                   "WHERE r.room_number = rs.room_number " +
+                   "AND b.status IN ('CHECKED_IN', 'CHECKED_OUT') " +
+                   "AND b.check_in_date <= DATE(rs.requested_at) " +
+                   "AND b.check_out_date >= DATE(rs.requested_at) " +
+                   "ORDER BY b.check_in_date DESC, b.id DESC LIMIT 1) " +
+                   "WHERE rs.booking_id IS NULL", nativeQuery = true)
+    int backfillBookingLinks();
+    
+    /**
+     * Claim a pending service for a staff member. Returns 0 when someone else got it first
+     * or it is no longer pending.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomService rs SET rs.status = 'IN_PROGRESS', rs.claimedBy = :staff, rs.claimedAt = :now, " +
+           "rs.updatedAt = :now WHERE rs.id = :id AND rs.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("staff") String staff, @Param("now") LocalDateTime now);
+    
+    /**
+     * Complete a service claimed by a staff member. Returns 0 when it is not their claim.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomService rs SET rs.status = 'COMPLETED', rs.completedAt = :now, rs.updatedAt = :now " +
+           "WHERE rs.id = :id AND rs.status = 'IN_PROGRESS' AND rs.claimedBy = :staff")
+    int completeClaim(@Param("id") Long id, @Param("staff") String staff, @Param("now") LocalDateTime now);
+    
+    /**
+     * Put a service claimed by a staff member back in the queue. Returns 0 when it is not
+     * their claim.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomService rs SET rs.status = 'PENDING', rs.claimedBy = NULL, rs.claimedAt = NULL, " +
+           "rs.updatedAt = :now WHERE rs.id = :id AND rs.status = 'IN_PROGRESS' AND rs.claimedBy = :staff")
+    int releaseClaim(@Param("id") Long id, @Param("staff") String staff, @Param("now") LocalDateTime now);
+    
     /**
      * Count services by status
      */
@@ -0,0 +1,111 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.Booking;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque position in a keyset-paginated booking list: the sort field and direction,
+ * plus the sort value and id of the last booking returned.
+ */
+public final class BookingCursor {
+
+    /**
+     * Sortable fields and how to read their cursor value back. Only non-null columns
+     * qualify, since keyset comparisons skip nulls.
+     */
+    private static final Map<String, Function<String, Comparable<?>>> SORT_FIELDS = Map.of(
+            "createdAt", LocalDateTime::parse,
+            "checkInDate", LocalDate::parse,
+            "checkOutDate", LocalDate::parse,
+            "firstName", value -> value,
+            "lastName", value -> value,
+            "totalAmount", BigDecimal::new,
+            "status", Booking.BookingStatus::valueOf,
+            "id", Long::valueOf
+    );
+
+    private final String sortBy;
+    private final boolean descending;
+    private final Long lastId;
+    private final Comparable<?> lastValue;
+
+    private BookingCursor(String sortBy, boolean descending, Long lastId, Comparable<?> lastValue) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Whether keyset paging can sort by this field
+     */
+    public static boolean isSortable(String sortBy) {
+        return SORT_FIELDS.containsKey(sortBy);
+    }
+
+    /**
+     * Cursor pointing after the given booking
+     */
+    public static String encode(String sortBy, boolean descending, Booking booking) {
+        String raw = sortBy + "|" + (descending ? "desc" : "asc") + "|" + booking.getId() + "|" +
+                sortValue(sortBy, booking);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a cursor produced by {@link #encode}
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static BookingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            Function<String, Comparable<?>> parser = SORT_FIELDS.get(parts[0]);
+            if (parts.length != 4 || parser == null) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new BookingCursor(parts[0], "desc".equals(parts[1]), Long.valueOf(parts[2]),
+                    parser.apply(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Object sortValue(String sortBy, Booking booking) {
+        return switch (sortBy) {
+            case "createdAt" -> booking.getCreatedAt();
+            case "checkInDate" -> booking.getCheckInDate();
+            case "checkOutDate" -> booking.getCheckOutDate();
+            case "firstName" -> booking.getFirstName();
+            case "lastName" -> booking.getLastName();
+            case "totalAmount" -> booking.getTotalAmount().toPlainString();
+            case "status" -> booking.getStatus().name();
+            case "id" -> booking.getId();
+            default -> throw new RuntimeException("Cannot page by field: " + sortBy);
+        };
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public Comparable<?> getLastValue() {
+        return lastValue;
+    }
+}
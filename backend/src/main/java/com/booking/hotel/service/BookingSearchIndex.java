@@ -0,0 +1,357 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.BookingResponseDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.event.BookingChangedEvent;
+import com.booking.hotel.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over guest first name, last name and room number.
+ *
+ * Every booking is a document; each trigram of its lower-cased "first last room" text
+ * maps to a posting list of document numbers. Documents are append-only: when a
+ * booking's text changes it gets a new document and the old one is tombstoned, so
+ * posting lists stay sorted and can be intersected by binary search. Status changes
+ * are applied in place.
+ *
+ * A query intersects the posting lists of its trigrams, verifies real substring
+ * matches and ranks them: an exact field match beats a prefix match, which beats any
+ * other substring; ties go to the most recent booking. Queries shorter than three
+ * characters are not served by the index.
+ *
+ * The index is loaded at startup and rebuilt nightly to drop tombstones. Updates that
+ * arrive while a rebuild is loading are replayed onto the new index before it is
+ * published. Local changes are applied as they commit; changes made by other instances
+ * are picked up by polling for bookings updated since the previous poll, so the index
+ * lags them by at most booking.search.refresh-interval-ms. Callers fall back to the
+ * database when the index finds nothing.
+ */
+@Component
+public class BookingSearchIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final BookingRepository bookingRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index;
+
+    private List<Entry> pendingDuringRebuild;
+
+    private volatile LocalDateTime lastRefresh;
+
+    @Value("${booking.search.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    public BookingSearchIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Ranked booking ids for one page of results, plus the total number of matches
+     */
+    public record Result(List<Long> bookingIds, int total) {
+    }
+
+    /**
+     * Load the index once the application context is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild nightly to compact documents left behind by renamed bookings
+     */
+    @Scheduled(cron = "${booking.search.rebuild-cron:0 10 0 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                return; // Already rebuilding
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        Index fresh = new Index();
+        boolean loaded = false;
+        try {
+            Long afterId = Long.MIN_VALUE;
+            List<Object[]> rows;
+            do {
+                rows = bookingRepository.findSearchRows(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    fresh.put(new Entry(afterId, (String) row[1], (String) row[2], (String) row[3],
+                            (Booking.BookingStatus) row[4]));
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // A failed load keeps serving the previous index
+                if (loaded) {
+                    pendingDuringRebuild.forEach(fresh::put);
+                    index = fresh;
+                    if (lastRefresh == null) {
+                        lastRefresh = startedAt;
+                    }
+                }
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Apply bookings written since the previous poll, including those written by other
+     * instances. Polls overlap by booking.search.refresh-overlap-ms to allow for clock
+     * skew between instances and transactions that commit late; applying an unchanged
+     * booking again only refreshes its status.
+     */
+    @Scheduled(fixedDelayString = "${booking.search.refresh-interval-ms:5000}",
+               initialDelayString = "${booking.search.refresh-interval-ms:5000}")
+    public void refreshChanged() {
+        LocalDateTime since = lastRefresh;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime polledAt = LocalDateTime.now();
+        List<Object[]> rows = bookingRepository.findSearchRowsChangedSince(since.minusNanos(refreshOverlapMs * 1_000_000));
+        for (Object[] row : rows) {
+            apply(new Entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (Booking.BookingStatus) row[4]));
+        }
+        lastRefresh = polledAt;
+    }
+
+    /**
+     * Whether a search term can be answered by the index
+     */
+    public boolean canSearch(String query) {
+        lock.readLock().lock();
+        try {
+            return index != null && query != null && normalize(query).length() >= MIN_QUERY_LENGTH;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find bookings whose guest name or room number contains the query, best matches first
+     */
+    public Result search(String query, Booking.BookingStatus status, int offset, int limit) {
+        String term = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (index == null || term.length() < MIN_QUERY_LENGTH) {
+                throw new IllegalStateException("Search index cannot answer query: " + query);
+            }
+            return index.search(term, status, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingResponseDTO booking = event.getBooking();
+        apply(new Entry(booking.getId(), booking.getFirstName(), booking.getLastName(),
+                booking.getRoomNumber(), Booking.BookingStatus.valueOf(booking.getStatus())));
+    }
+
+    private void apply(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.put(entry);
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * One booking's searchable fields
+     */
+    private record Entry(long bookingId, String firstName, String lastName, String roomNumber,
+                         Booking.BookingStatus status) {
+    }
+
+    /**
+     * Growable sorted list of document numbers
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+
+    private static final class Index {
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> docByBooking = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] bookingIds = new long[1024];
+        private String[] firstNames = new String[1024];
+        private String[] lastNames = new String[1024];
+        private String[] roomNumbers = new String[1024];
+        private byte[] statuses = new byte[1024];
+        private int docCount;
+
+        void put(Entry entry) {
+            String first = normalize(entry.firstName());
+            String last = normalize(entry.lastName());
+            String room = normalize(entry.roomNumber());
+
+            Integer existing = docByBooking.get(entry.bookingId());
+            if (existing != null) {
+                if (first.equals(firstNames[existing]) && last.equals(lastNames[existing])
+                        && room.equals(roomNumbers[existing])) {
+                    statuses[existing] = (byte) entry.status().ordinal();
+                    return;
+                }
+                deleted.set(existing);
+            }
+
+            int doc = docCount++;
+            if (doc == bookingIds.length) {
+                int capacity = doc * 2;
+                bookingIds = Arrays.copyOf(bookingIds, capacity);
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+                roomNumbers = Arrays.copyOf(roomNumbers, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            bookingIds[doc] = entry.bookingId();
+            firstNames[doc] = first;
+            lastNames[doc] = last;
+            roomNumbers[doc] = room;
+            statuses[doc] = (byte) entry.status().ordinal();
+            docByBooking.put(entry.bookingId(), doc);
+
+            String text = first + " " + last + " " + room;
+            Set<Long> grams = new LinkedHashSet<>();
+            for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+                grams.add(trigram(text, i));
+            }
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(doc);
+            }
+        }
+
+        Result search(String term, Booking.BookingStatus status, int offset, int limit) {
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + MIN_QUERY_LENGTH <= term.length(); i++) {
+                Postings list = postings.get(trigram(term, i));
+                if (list == null) {
+                    return new Result(List.of(), 0);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // Walk the rarest trigram and keep documents present in every other list
+            Postings rarest = lists.get(0);
+            List<long[]> matches = new ArrayList<>();
+            for (int i = 0; i < rarest.size; i++) {
+                int doc = rarest.docs[i];
+                if (deleted.get(doc) || (status != null && statuses[doc] != status.ordinal())) {
+                    continue;
+                }
+                boolean inAll = true;
+                for (int l = 1; l < lists.size() && inAll; l++) {
+                    inAll = lists.get(l).contains(doc);
+                }
+                if (inAll) {
+                    int score = score(doc, term);
+                    if (score > 0) {
+                        matches.add(new long[] {score, bookingIds[doc]});
+                    }
+                }
+            }
+
+            matches.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < matches.size() && page.size() < limit; i++) {
+                page.add(matches.get(i)[1]);
+            }
+            return new Result(page, matches.size());
+        }
+
+        /**
+         * 3 for an exact field match, 2 for a prefix, 1 for any other substring, 0 for a
+         * trigram false positive
+         */
+        private int score(int doc, String term) {
+            String fullName = firstNames[doc] + " " + lastNames[doc];
+            int best = 0;
+            for (String field : new String[] {firstNames[doc], lastNames[doc], roomNumbers[doc], fullName}) {
+                if (field.equals(term)) {
+                    return 3;
+                } else if (field.startsWith(term)) {
+                    best = Math.max(best, 2);
+                } else if (field.contains(term)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            return best;
+        }
+    }
+}
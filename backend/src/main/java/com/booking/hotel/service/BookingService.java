@@ -4,50 +4,89 @@ import com.booking.hotel.dto.BookingRequestDTO;
 import com.booking.hotel.dto.BookingResponseDTO;
 import com.booking.hotel.dto.CheckInSummaryDTO;
 import com.booking.hotel.dto.CheckoutSummaryDTO;
-import com.booking.hotel.dto.ServiceChargeDTO;
+import com.booking.hotel.dto.CursorPageDTO;
+import com.booking.hotel.dto.GroupBookingRequestDTO;
 import com.booking.hotel.entity.Booking;
 import com.booking.hotel.entity.Room;
-import com.booking.hotel.entity.RoomService;
+import com.booking.hotel.event.BookingChangedEvent;
 import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.RoomNightRepository;
 import com.booking.hotel.repository.RoomRepository;
-import com.booking.hotel.repository.RoomServiceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.persistence.LockModeType;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class BookingService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingSearchIndex searchIndex;
+
+    @Autowired
+    private RoomInventoryService inventoryService;
+
+    @Autowired
+    private OccupancyRollupService occupancyRollup;
+
+    @Autowired
+    private FolioService folioService;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
     @Autowired
     private EntityManager entityManager;
-    
+
     @Autowired
-    private RoomServiceRepository roomServiceRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     /**
-     * Get all bookings with pagination, sorting, and search
+     * Get all bookings with pagination, sorting, and search. Searches of three or more
+     * characters are answered by the trigram index and ranked by match quality instead
+     * of the requested sort; when the index finds nothing the database is searched.
      */
+    @Transactional(readOnly = true)
     public Page<BookingResponseDTO> getAllBookings(int page, int size, String sortBy, 
                                                    String sortDirection, String search, 
                                                    Booking.BookingStatus status) {
@@ -60,11 +99,74 @@ public class BookingService {
             Sort sort = Sort.by(direction, sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
 
-            // Fetch bookings with search and status filter
-            Page<Booking> bookingPage = bookingRepository.findAllWithSearch(search, status, pageable);
+            if (searchIndex.canSearch(search)) {
+                // The index may not have seen a booking just written on another instance yet
+                Page<BookingResponseDTO> indexed = searchIndexed(search, status, pageable);
+                if (indexed.getTotalElements() > 0) {
+                    return indexed;
+                }
+            }
+
+            // Fetch booking views with search and status filter
+            return bookingRepository.findViewsWithSearch(search, status, pageable);
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching bookings: " + e.getMessage(), e);
+        }
+    }
 
-            // Convert to DTOs
-            return bookingPage.map(BookingResponseDTO::new);
+    /**
+     * Rank matches in the search index, then load only the requested page
+     */
+    private Page<BookingResponseDTO> searchIndexed(String search, Booking.BookingStatus status, Pageable pageable) {
+        BookingSearchIndex.Result result = searchIndex.search(
+                search, status, (int) pageable.getOffset(), pageable.getPageSize());
+
+        Map<Long, BookingResponseDTO> bookings = new HashMap<>();
+        for (BookingResponseDTO booking : bookingRepository.findViewsByIdIn(result.bookingIds())) {
+            bookings.put(booking.getId(), booking);
+        }
+        List<BookingResponseDTO> content = result.bookingIds().stream()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    /**
+     * Get bookings with keyset pagination. An empty cursor starts at the first page;
+     * later pages take their sort field and direction from the cursor.
+     *
+     * @throws IllegalArgumentException for a malformed cursor, an unsortable field or a
+     *         page size outside 1..{@value #MAX_CURSOR_PAGE_SIZE}
+     */
+    public CursorPageDTO<BookingResponseDTO> getBookingsAfter(String cursor, int size, String sortBy,
+                                                              String sortDirection, String search,
+                                                              Booking.BookingStatus status) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        BookingCursor position = cursor != null && !cursor.isEmpty() ? BookingCursor.decode(cursor) : null;
+        String sortField = position != null ? position.getSortBy() : sortBy;
+        boolean descending = position != null ? position.isDescending() : sortDirection.equalsIgnoreCase("desc");
+        if (!BookingCursor.isSortable(sortField)) {
+            throw new IllegalArgumentException("Cannot page by field: " + sortField);
+        }
+
+        try {
+            // Fetch one extra row to learn whether another page follows
+            List<Booking> bookings = bookingRepository.findPageAfter(
+                    search, status, sortField, descending,
+                    position != null ? position.getLastValue() : null,
+                    position != null ? position.getLastId() : null,
+                    size + 1);
+
+            boolean hasNext = bookings.size() > size;
+            List<Booking> page = hasNext ? bookings.subList(0, size) : bookings;
+            String nextCursor = hasNext
+                    ? BookingCursor.encode(sortField, descending, page.get(page.size() - 1))
+                    : null;
+
+            return new CursorPageDTO<>(page.stream().map(BookingResponseDTO::new).toList(), nextCursor, size);
         } catch (Exception e) {
             throw new RuntimeException("Error fetching bookings: " + e.getMessage(), e);
         }
@@ -75,82 +177,55 @@ public class BookingService {
      */
     public Optional<BookingResponseDTO> getBookingById(Long id) {
         try {
-            return bookingRepository.findById(id)
-                    .map(BookingResponseDTO::new);
+            return bookingRepository.findViewById(id);
         } catch (Exception e) {
             throw new RuntimeException("Error fetching booking with id " + id + ": " + e.getMessage(), e);
         }
     }
 
     /**
-     * Create new booking with availability check and pessimistic locking
+     * Create new booking. Nights are claimed in the room_nights inventory, so a
+     * conflicting booking fails on the unique constraint instead of waiting on a room lock.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDTO createBooking(BookingRequestDTO bookingRequest) {
-        try {
-            // Validation
-            if (!bookingRequest.isValidDateRange()) {
-                throw new RuntimeException("Invalid date range: Check-out date must be after check-in date");
-            }
+        return retryExecutor.execute("createBooking", () -> doCreateBooking(bookingRequest));
+    }
 
-            if (bookingRequest.getCheckInDate().isBefore(LocalDate.now())) {
-                throw new RuntimeException("Check-in date cannot be in the past");
-            }
+    private BookingResponseDTO doCreateBooking(BookingRequestDTO bookingRequest) {
+        try {
+            validateDates(bookingRequest);
 
-            // Get room with pessimistic lock to prevent concurrent bookings
             Room room = roomRepository.findById(bookingRequest.getRoomId())
                     .orElseThrow(() -> new RuntimeException("Room not found with id: " + bookingRequest.getRoomId()));
 
-            // Apply pessimistic lock
-            entityManager.lock(room, LockModeType.PESSIMISTIC_WRITE);
-
-            // Check room capacity
-            if (room.getAdultCapacity() < bookingRequest.getAdultCapacity()) {
-                throw new RuntimeException("Room adult capacity (" + room.getAdultCapacity() + 
-                        ") is insufficient for requested capacity (" + bookingRequest.getAdultCapacity() + ")");
-            }
-
-            if (room.getChildrenCapacity() < bookingRequest.getChildrenCapacity()) {
-                throw new RuntimeException("Room children capacity (" + room.getChildrenCapacity() + 
-                        ") is insufficient for requested capacity (" + bookingRequest.getChildrenCapacity() + ")");
+            // Guard the room's price and capacity against concurrent edits
+            lockRoom(room);
+            checkCapacity(room, bookingRequest);
+
+            // Reject early when the room is taken. The in-memory index may lag writes made
+            // on other instances, so a "taken" answer is confirmed against room_nights.
+            if (availabilityIndex.covers(bookingRequest.getCheckInDate(), bookingRequest.getCheckOutDate())
+                    && !availabilityIndex.isAvailable(room.getId(), bookingRequest.getCheckInDate(),
+                                                      bookingRequest.getCheckOutDate())) {
+                if (!roomNightRepository.findTakenNights(List.of(room.getId()), bookingRequest.getCheckInDate(),
+                                                         bookingRequest.getCheckOutDate()).isEmpty()) {
+                    throw new RuntimeException("Room " + room.getRoomNumber() +
+                            " is not available for the selected dates");
+                }
+                availabilityIndex.refreshRooms(List.of(room.getId()));
             }
 
-            // Check availability
-            boolean isAvailable = bookingRepository.isRoomAvailable(
-                    room, 
-                    bookingRequest.getCheckInDate(), 
-                    bookingRequest.getCheckOutDate()
-            );
+            Booking booking = newBooking(bookingRequest, room);
 
-            if (!isAvailable) {
-                throw new RuntimeException("Room " + room.getRoomNumber() + 
-                        " is not available for the selected dates");
-            }
-
-            // Calculate total amount
-            long numberOfNights = ChronoUnit.DAYS.between(
-                    bookingRequest.getCheckInDate(), 
-                    bookingRequest.getCheckOutDate()
-            );
-            BigDecimal totalAmount = room.getPrice().multiply(BigDecimal.valueOf(numberOfNights));
-
-            // Create booking entity
-            Booking booking = new Booking(
-                    bookingRequest.getFirstName(),
-                    bookingRequest.getLastName(),
-                    bookingRequest.getPronouns(),
-                    bookingRequest.getCheckInDate(),
-                    bookingRequest.getCheckOutDate(),
-                    bookingRequest.getAdultCapacity(),
-                    bookingRequest.getChildrenCapacity(),
-                    room,
-                    totalAmount
-            );
-
-            // Save booking
+            // Save booking and claim its nights
             Booking savedBooking = bookingRepository.save(booking);
+            inventoryService.reserve(savedBooking);
+            occupancyRollup.recordCreated(List.of(savedBooking));
 
-            return new BookingResponseDTO(savedBooking);
+            BookingResponseDTO response = new BookingResponseDTO(savedBooking);
+            eventPublisher.publishEvent(new BookingChangedEvent(response));
+            return response;
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -159,73 +234,175 @@ public class BookingService {
     }
 
     /**
-     * Update booking status
+     * Create several bookings in one transaction. Rooms are loaded and locked in id
+     * order, availability is checked with one query for the whole group, and bookings
+     * and nights are written as batched inserts. Either every booking is created or none.
      */
-    public BookingResponseDTO updateBookingStatus(Long id, Booking.BookingStatus status) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookingResponseDTO> createGroupBooking(GroupBookingRequestDTO groupRequest) {
+        return retryExecutor.execute("createGroupBooking", () -> doCreateGroupBooking(groupRequest.getBookings()));
+    }
+
+    private List<BookingResponseDTO> doCreateGroupBooking(List<BookingRequestDTO> requests) {
         try {
-            Booking booking = bookingRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+            if (requests == null || requests.isEmpty()) {
+                throw new RuntimeException("At least one booking is required");
+            }
+
+            requests.forEach(this::validateDates);
+
+            // Load every room in one query and lock them in a stable order
+            Set<Long> roomIds = requests.stream()
+                    .map(BookingRequestDTO::getRoomId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Map<Long, Room> rooms = new LinkedHashMap<>();
+            for (Room room : roomRepository.findByIdInOrderByIdAsc(roomIds)) {
+                rooms.put(room.getId(), room);
+            }
+            for (Long roomId : roomIds) {
+                Room room = rooms.get(roomId);
+                if (room == null) {
+                    throw new RuntimeException("Room not found with id: " + roomId);
+                }
+                lockRoom(room);
+            }
 
-            booking.setStatus(status);
-            Booking updatedBooking = bookingRepository.save(booking);
+            // Reject requests that overlap each other on the same room
+            List<BookingRequestDTO> ordered = new ArrayList<>(requests);
+            ordered.sort(Comparator.comparing(BookingRequestDTO::getRoomId)
+                    .thenComparing(BookingRequestDTO::getCheckInDate));
+            for (int i = 1; i < ordered.size(); i++) {
+                BookingRequestDTO previous = ordered.get(i - 1);
+                BookingRequestDTO current = ordered.get(i);
+                if (previous.getRoomId().equals(current.getRoomId())
+                        && current.getCheckInDate().isBefore(previous.getCheckOutDate())) {
+                    throw new RuntimeException("Room " + rooms.get(current.getRoomId()).getRoomNumber() +
+                            " is requested more than once for overlapping dates");
+                }
+            }
 
-            return new BookingResponseDTO(updatedBooking);
+            // One availability query for all rooms across the whole date span
+            LocalDate from = requests.stream().map(BookingRequestDTO::getCheckInDate)
+                    .min(Comparator.naturalOrder()).get();
+            LocalDate to = requests.stream().map(BookingRequestDTO::getCheckOutDate)
+                    .max(Comparator.naturalOrder()).get();
+            Map<Long, Set<LocalDate>> takenNights = new HashMap<>();
+            for (Object[] row : roomNightRepository.findTakenNights(roomIds, from, to)) {
+                takenNights.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+            }
+
+            Map<BookingRequestDTO, Booking> bookings = new IdentityHashMap<>();
+            for (BookingRequestDTO request : ordered) {
+                Room room = rooms.get(request.getRoomId());
+                checkCapacity(room, request);
+
+                Set<LocalDate> taken = takenNights.getOrDefault(room.getId(), Set.of());
+                for (LocalDate night = request.getCheckInDate(); night.isBefore(request.getCheckOutDate());
+                     night = night.plusDays(1)) {
+                    if (taken.contains(night)) {
+                        throw new RuntimeException("Room " + room.getRoomNumber() +
+                                " is not available for the selected dates");
+                    }
+                }
+
+                bookings.put(request, newBooking(request, room));
+            }
+
+            // Save bookings and claim their nights in (room, check-in) order
+            List<Booking> savedBookings = bookingRepository.saveAll(
+                    ordered.stream().map(bookings::get).toList());
+            inventoryService.reserveAll(savedBookings);
+            occupancyRollup.recordCreated(savedBookings);
+
+            // Respond in the order the bookings were requested
+            List<BookingResponseDTO> responses = requests.stream()
+                    .map(request -> new BookingResponseDTO(bookings.get(request)))
+                    .toList();
+            responses.forEach(response -> eventPublisher.publishEvent(new BookingChangedEvent(response)));
+            return responses;
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Error updating booking status: " + e.getMessage(), e);
+            throw new RuntimeException("Error creating group booking: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Update booking status
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingResponseDTO updateBookingStatus(Long id, Booking.BookingStatus status) {
+        return retryExecutor.execute("updateBookingStatus", () -> {
+            try {
+                Booking booking = loadForUpdate(id);
+                return new BookingResponseDTO(applyStatus(booking, status));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error updating booking status: " + e.getMessage(), e);
+            }
+        });
+    }
+
     /**
      * Cancel booking
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDTO cancelBooking(Long id) {
-        return updateBookingStatus(id, Booking.BookingStatus.CANCELLED);
+        return retryExecutor.execute("cancelBooking", () -> {
+            Booking booking = loadForUpdate(id);
+            return new BookingResponseDTO(applyStatus(booking, Booking.BookingStatus.CANCELLED));
+        });
     }
 
     /**
      * Check in guest
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDTO checkInGuest(Long id) {
-        try {
-            Booking booking = bookingRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        return retryExecutor.execute("checkInGuest", () -> {
+            try {
+                Booking booking = loadForUpdate(id);
 
-            if (booking.getStatus() != Booking.BookingStatus.BOOKED) {
-                throw new RuntimeException("Cannot check in: Booking status is " + booking.getStatus());
-            }
+                if (booking.getStatus() != Booking.BookingStatus.BOOKED) {
+                    throw new RuntimeException("Cannot check in: Booking status is " + booking.getStatus());
+                }
 
-            if (booking.getCheckInDate().isAfter(LocalDate.now())) {
-                throw new RuntimeException("Cannot check in before check-in date");
-            }
+                if (booking.getCheckInDate().isAfter(LocalDate.now())) {
+                    throw new RuntimeException("Cannot check in before check-in date");
+                }
 
-            return updateBookingStatus(id, Booking.BookingStatus.CHECKED_IN);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Error checking in guest: " + e.getMessage(), e);
-        }
+                Booking checkedIn = applyStatus(booking, Booking.BookingStatus.CHECKED_IN);
+                folioService.open(checkedIn);
+                return new BookingResponseDTO(checkedIn);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error checking in guest: " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
      * Check out guest
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDTO checkOutGuest(Long id) {
-        try {
-            Booking booking = bookingRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        return retryExecutor.execute("checkOutGuest", () -> {
+            try {
+                Booking booking = loadForUpdate(id);
 
-            if (booking.getStatus() != Booking.BookingStatus.CHECKED_IN) {
-                throw new RuntimeException("Cannot check out: Guest is not checked in");
-            }
+                if (booking.getStatus() != Booking.BookingStatus.CHECKED_IN) {
+                    throw new RuntimeException("Cannot check out: Guest is not checked in");
+                }
 
-            return updateBookingStatus(id, Booking.BookingStatus.CHECKED_OUT);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Error checking out guest: " + e.getMessage(), e);
-        }
+                return new BookingResponseDTO(applyStatus(booking, Booking.BookingStatus.CHECKED_OUT));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error checking out guest: " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
@@ -246,11 +423,18 @@ public class BookingService {
                 throw new RuntimeException("Check-in date cannot be in the past");
             }
 
-            return bookingRepository.findAvailableRooms(
-                    checkInDate, checkOutDate, 
-                    adultCapacity != null ? adultCapacity : 1, 
-                    childrenCapacity != null ? childrenCapacity : 0
-            );
+            int adults = adultCapacity != null ? adultCapacity : 1;
+            int children = childrenCapacity != null ? childrenCapacity : 0;
+
+            // Answer from the in-memory index when the dates fall inside its horizon. It may
+            // lag other instances by one refresh interval; booking still checks room_nights.
+            if (availabilityIndex.covers(checkInDate, checkOutDate)) {
+                List<Room> candidates = roomRepository
+                        .findByAdultCapacityGreaterThanEqualAndChildrenCapacityGreaterThanEqual(adults, children);
+                return availabilityIndex.filterAvailable(candidates, checkInDate, checkOutDate);
+            }
+
+            return bookingRepository.findAvailableRooms(checkInDate, checkOutDate, adults, children);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -261,12 +445,10 @@ public class BookingService {
     /**
      * Get bookings by date range
      */
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getBookingsByDateRange(LocalDate startDate, LocalDate endDate) {
         try {
-            List<Booking> bookings = bookingRepository.findByDateRange(startDate, endDate);
-            return bookings.stream()
-                    .map(BookingResponseDTO::new)
-                    .toList();
+            return bookingRepository.findViewsByDateRange(startDate, endDate.plusDays(1));
         } catch (Exception e) {
             throw new RuntimeException("Error fetching bookings by date range: " + e.getMessage(), e);
         }
@@ -275,12 +457,10 @@ public class BookingService {
     /**
      * Get upcoming check-ins
      */
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getUpcomingCheckIns() {
         try {
-            List<Booking> bookings = bookingRepository.findUpcomingCheckIns(LocalDate.now());
-            return bookings.stream()
-                    .map(BookingResponseDTO::new)
-                    .toList();
+            return bookingRepository.findUpcomingCheckInViews(LocalDate.now());
         } catch (Exception e) {
             throw new RuntimeException("Error fetching upcoming check-ins: " + e.getMessage(), e);
         }
@@ -289,12 +469,10 @@ public class BookingService {
     /**
      * Get current guests (checked in)
      */
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getCurrentGuests() {
         try {
-            List<Booking> bookings = bookingRepository.findCurrentGuests();
-            return bookings.stream()
-                    .map(BookingResponseDTO::new)
-                    .toList();
+            return bookingRepository.findCurrentGuestViews();
         } catch (Exception e) {
             throw new RuntimeException("Error fetching current guests: " + e.getMessage(), e);
         }
@@ -322,6 +500,28 @@ public class BookingService {
         }
     }
 
+    /**
+     * Get booking counts keyed by status, plus the overall total
+     */
+    public Map<String, Long> getBookingCountsByStatus() {
+        try {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+                counts.put(status.name(), 0L);
+            }
+            long total = 0;
+            for (Object[] row : bookingRepository.countGroupByStatus()) {
+                long count = (Long) row[1];
+                counts.put(((Booking.BookingStatus) row[0]).name(), count);
+                total += count;
+            }
+            counts.put("TOTAL", total);
+            return counts;
+        } catch (Exception e) {
+            throw new RuntimeException("Error counting bookings by status: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Get checkout summary with billing calculation
      */
@@ -334,54 +534,7 @@ public class BookingService {
                 throw new RuntimeException("Cannot get checkout summary: Guest is not checked in");
             }
 
-            LocalDate checkInDate = booking.getCheckInDate();
-            LocalDate checkOutDate = LocalDate.now(); // Current date for checkout
-            
-            // Calculate total nights
-            long totalNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-            if (totalNights < 1) {
-                totalNights = 1; // Minimum 1 night
-            }
-
-            // Calculate room total
-            BigDecimal roomTotal = booking.getRoom().getPrice().multiply(BigDecimal.valueOf(totalNights));
-
-            // Calculate service charges (tax + cleaning fee + room services)
-            List<ServiceChargeDTO> serviceCharges = new ArrayList<>();
-            
-            // Add tax (10% of room total)
-            BigDecimal tax = roomTotal.multiply(BigDecimal.valueOf(0.10));
-            serviceCharges.add(new ServiceChargeDTO("Tax (10%)", tax));
-            
-            // Add cleaning fee
-            BigDecimal cleaningFee = BigDecimal.valueOf(3000); // Fixed cleaning fee
-            serviceCharges.add(new ServiceChargeDTO("Cleaning Fee", cleaningFee));
-            
-            // Add room service charges
-            BigDecimal roomServicesTotal = BigDecimal.ZERO;
-            List<RoomService> roomServicesList = roomServiceRepository.findByRoomNumberOrderByRequestedAtDesc(booking.getRoom().getRoomNumber());
-            
-            for (RoomService roomService : roomServicesList) {
-                // Only include completed services
-                if (roomService.getStatus() == RoomService.ServiceStatus.COMPLETED) {
-                    String serviceName = roomService.getServiceType() + " - " + 
-                                      (roomService.getDescription() != null ? roomService.getDescription() : "Room Service");
-                    serviceCharges.add(new ServiceChargeDTO(serviceName, roomService.getAmount()));
-                    roomServicesTotal = roomServicesTotal.add(roomService.getAmount());
-                }
-            }
-
-            // Calculate grand total
-            BigDecimal grandTotal = roomTotal.add(tax).add(cleaningFee).add(roomServicesTotal);
-
-            return new CheckoutSummaryDTO(
-                roomTotal,
-                serviceCharges,
-                grandTotal,
-                (int) totalNights,
-                checkInDate,
-                checkOutDate
-            );
+            return folioService.getSummary(booking, LocalDate.now());
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -392,32 +545,33 @@ public class BookingService {
     /**
      * Process checkout with billing calculation
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDTO processCheckout(Long id) {
-        try {
-            Booking booking = bookingRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        return retryExecutor.execute("processCheckout", () -> {
+            try {
+                Booking booking = loadForUpdate(id);
 
-            if (booking.getStatus() != Booking.BookingStatus.CHECKED_IN) {
-                throw new RuntimeException("Cannot check out: Guest is not checked in");
-            }
+                if (booking.getStatus() != Booking.BookingStatus.CHECKED_IN) {
+                    throw new RuntimeException("Cannot check out: Guest is not checked in");
+                }
 
-            // Get checkout summary for billing calculation
-            CheckoutSummaryDTO checkoutSummary = getCheckoutSummary(id);
-            
-            // Update booking with final amount
-            booking.setTotalAmount(checkoutSummary.getGrandTotal());
-            
-            // Update status to checked out
-            booking.setStatus(Booking.BookingStatus.CHECKED_OUT);
-            
-            Booking updatedBooking = bookingRepository.save(booking);
-            return new BookingResponseDTO(updatedBooking);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing checkout: " + e.getMessage(), e);
-        }
+                // Post the remaining nights and take the final bill from the folio
+                CheckoutSummaryDTO checkoutSummary = folioService.close(booking, LocalDate.now());
+
+                // Update booking with final amount
+                BigDecimal previousAmount = booking.getTotalAmount();
+                booking.setTotalAmount(checkoutSummary.getGrandTotal());
+
+                // Update status to checked out
+                Booking checkedOut = applyStatus(booking, Booking.BookingStatus.CHECKED_OUT);
+                occupancyRollup.recordAmountChange(checkedOut, previousAmount);
+                return new BookingResponseDTO(checkedOut);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error processing checkout: " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
@@ -477,4 +631,92 @@ public class BookingService {
             throw new RuntimeException("Error fetching today's check-outs: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reject invalid or past stay dates
+     */
+    private void validateDates(BookingRequestDTO bookingRequest) {
+        if (!bookingRequest.isValidDateRange()) {
+            throw new RuntimeException("Invalid date range: Check-out date must be after check-in date");
+        }
+
+        if (bookingRequest.getCheckInDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Check-in date cannot be in the past");
+        }
+    }
+
+    /**
+     * Reject requests that do not fit in the room
+     */
+    private void checkCapacity(Room room, BookingRequestDTO bookingRequest) {
+        if (room.getAdultCapacity() < bookingRequest.getAdultCapacity()) {
+            throw new RuntimeException("Room adult capacity (" + room.getAdultCapacity() + 
+                    ") is insufficient for requested capacity (" + bookingRequest.getAdultCapacity() + ")");
+        }
+
+        if (room.getChildrenCapacity() < bookingRequest.getChildrenCapacity()) {
+            throw new RuntimeException("Room children capacity (" + room.getChildrenCapacity() + 
+                    ") is insufficient for requested capacity (" + bookingRequest.getChildrenCapacity() + ")");
+        }
+    }
+
+    /**
+     * Build an unsaved booking priced at the room's nightly rate
+     */
+    private Booking newBooking(BookingRequestDTO bookingRequest, Room room) {
+        long numberOfNights = ChronoUnit.DAYS.between(
+                bookingRequest.getCheckInDate(), 
+                bookingRequest.getCheckOutDate()
+        );
+        BigDecimal totalAmount = room.getPrice().multiply(BigDecimal.valueOf(numberOfNights));
+
+        return new Booking(
+                bookingRequest.getFirstName(),
+                bookingRequest.getLastName(),
+                bookingRequest.getPronouns(),
+                bookingRequest.getCheckInDate(),
+                bookingRequest.getCheckOutDate(),
+                bookingRequest.getAdultCapacity(),
+                bookingRequest.getChildrenCapacity(),
+                room,
+                totalAmount
+        );
+    }
+
+    /**
+     * Load a booking for a status transition. Pessimistic mode takes a row lock;
+     * optimistic mode relies on the version check at commit.
+     */
+    private Booking loadForUpdate(Long id) {
+        Optional<Booking> booking = retryExecutor.getMode() == OptimisticRetryExecutor.Mode.PESSIMISTIC
+                ? bookingRepository.findByIdForUpdate(id)
+                : bookingRepository.findById(id);
+        return booking.orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+    }
+
+    /**
+     * Lock the room a booking is being made for. Optimistic mode only verifies the room
+     * version at commit; pessimistic mode takes a shared lock so bookings for the same
+     * room still run in parallel while room edits wait.
+     */
+    private void lockRoom(Room room) {
+        LockModeType lockMode = retryExecutor.getMode() == OptimisticRetryExecutor.Mode.PESSIMISTIC
+                ? LockModeType.PESSIMISTIC_READ
+                : LockModeType.OPTIMISTIC;
+        entityManager.lock(room, lockMode);
+    }
+
+    /**
+     * Move a booking to a new status and keep the room inventory in step
+     */
+    private Booking applyStatus(Booking booking, Booking.BookingStatus status) {
+        Booking.BookingStatus previousStatus = booking.getStatus();
+        LocalDate previousNightsEnd = OccupancyRollupService.countedNightsEnd(booking);
+        booking.setStatus(status);
+        Booking updatedBooking = bookingRepository.save(booking);
+        inventoryService.applyStatusChange(updatedBooking, previousStatus);
+        occupancyRollup.recordStatusChange(updatedBooking, previousStatus, previousNightsEnd);
+        eventPublisher.publishEvent(new BookingChangedEvent(new BookingResponseDTO(updatedBooking)));
+        return updatedBooking;
+    }
+}
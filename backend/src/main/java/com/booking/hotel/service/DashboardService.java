@@ -2,7 +2,7 @@ package com.booking.hotel.service;
 
 import com.booking.hotel.dto.OccupancyDataPointDTO;
 import com.booking.hotel.dto.OccupancyRateDTO;
-import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.entity.DailyOccupancy;
 import com.booking.hotel.repository.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,13 +11,12 @@ import java.time.LocalDate;
 import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class DashboardService {
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private OccupancyRollupService occupancyRollup;
 
     @Autowired
     private RoomRepository roomRepository;
@@ -31,26 +30,22 @@ public class DashboardService {
             LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
             LocalDate endOfWeek = today.with(DayOfWeek.SUNDAY);
 
-            // Get weekly occupancy data from repository
-            List<Object[]> weeklyData = bookingRepository.getWeeklyOccupancyData(startOfWeek, endOfWeek);
-            
-            // Convert to DTO format
+            // Read pre-aggregated days from the rollup
             List<OccupancyDataPointDTO> dataPoints = new ArrayList<>();
-            for (Object[] row : weeklyData) {
-                Integer day = (Integer) row[0];
-                Long approved = (Long) row[1];
-                Long declined = (Long) row[2];
-                
+            for (DailyOccupancy day : occupancyRollup.getRange(startOfWeek, endOfWeek)) {
+                if (day.getArrivals() == 0 && day.getCancellations() == 0) {
+                    continue;
+                }
                 dataPoints.add(new OccupancyDataPointDTO(
-                    day,
-                    approved.intValue(),
-                    declined.intValue()
+                    day.getStayDate().getDayOfMonth(),
+                    day.getArrivals(),
+                    day.getCancellations()
                 ));
             }
 
             // Calculate current occupancy rate
             long totalRooms = roomRepository.count();
-            long occupiedRooms = bookingRepository.countOccupiedRooms(today);
+            long occupiedRooms = occupancyRollup.getRoomsSold(today);
             double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0.0;
 
             return new OccupancyRateDTO(
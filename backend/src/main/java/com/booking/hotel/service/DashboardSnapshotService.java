@@ -0,0 +1,128 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.DashboardSnapshotDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard snapshot by running each section's read concurrently on a
+ * bounded pool. Every section has its own deadline; sections that fail, time out or
+ * cannot be scheduled are reported in the snapshot's errors instead of failing it.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private final BookingService bookingService;
+    private final DashboardService dashboardService;
+    private final RoomServiceService roomServiceService;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${dashboard.snapshot.section-timeout-ms:2000}")
+    private long defaultTimeoutMs;
+
+    @Value("#{${dashboard.snapshot.section-timeouts:{:}}}")
+    private Map<String, Long> sectionTimeoutsMs = new LinkedHashMap<>();
+
+    public DashboardSnapshotService(BookingService bookingService, DashboardService dashboardService,
+                                    RoomServiceService roomServiceService,
+                                    @Value("${dashboard.snapshot.threads:6}") int threads,
+                                    @Value("${dashboard.snapshot.queue-capacity:60}") int queueCapacity) {
+        this.bookingService = bookingService;
+        this.dashboardService = dashboardService;
+        this.roomServiceService = roomServiceService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-snapshot-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Build a snapshot. Waits at most for the slowest section deadline.
+     */
+    public DashboardSnapshotDTO getSnapshot() {
+        DashboardSnapshotDTO snapshot = new DashboardSnapshotDTO();
+        Map<String, CompletableFuture<Void>> sections = new LinkedHashMap<>();
+
+        sections.put("checkIns", section(snapshot, "checkIns",
+                bookingService::getTodayCheckIns, DashboardSnapshotDTO::setCheckIns));
+        sections.put("checkOuts", section(snapshot, "checkOuts",
+                bookingService::getTodayCheckOuts, DashboardSnapshotDTO::setCheckOuts));
+        sections.put("occupancy", section(snapshot, "occupancy",
+                dashboardService::getWeeklyOccupancyRate, DashboardSnapshotDTO::setOccupancy));
+        sections.put("currentGuests", section(snapshot, "currentGuests",
+                bookingService::getCurrentGuests, DashboardSnapshotDTO::setCurrentGuests));
+        sections.put("activeRoomServices", section(snapshot, "activeRoomServices",
+                roomServiceService::getActiveRoomServices, DashboardSnapshotDTO::setActiveRoomServices));
+        sections.put("bookingCounts", section(snapshot, "bookingCounts",
+                bookingService::getBookingCountsByStatus, DashboardSnapshotDTO::setBookingCounts));
+
+        for (Map.Entry<String, CompletableFuture<Void>> entry : sections.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recordError(snapshot, entry.getKey(), "interrupted");
+            } catch (ExecutionException e) {
+                recordError(snapshot, entry.getKey(), describe(e.getCause()));
+            }
+        }
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<Void> section(DashboardSnapshotDTO snapshot, String name, Supplier<T> read,
+                                                BiConsumer<DashboardSnapshotDTO, T> setter) {
+        long timeoutMs = sectionTimeoutsMs.getOrDefault(name, defaultTimeoutMs);
+        try {
+            return CompletableFuture.supplyAsync(read, executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .thenAccept(value -> {
+                        synchronized (snapshot) {
+                            setter.accept(snapshot, value);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("dashboard is busy"));
+        }
+    }
+
+    private void recordError(DashboardSnapshotDTO snapshot, String section, String message) {
+        synchronized (snapshot) {
+            snapshot.getErrors().put(section, message);
+        }
+    }
+
+    private String describe(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof TimeoutException) {
+            return "timed out";
+        }
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,264 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.BookingResponseDTO;
+import com.booking.hotel.dto.CheckInSummaryDTO;
+import com.booking.hotel.dto.DashboardBookingDeltaDTO;
+import com.booking.hotel.dto.OccupancyRateDTO;
+import com.booking.hotel.event.BookingChangedEvent;
+import com.booking.hotel.event.RoomServiceChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans dashboard changes out to every connected desk terminal over server-sent events.
+ *
+ * A new subscriber first receives a "snapshot" event, then "booking" and "room-service"
+ * deltas as changes commit, and an "occupancy" event at most once per flush interval
+ * while bookings keep changing.
+ *
+ * Each terminal has its own bounded queue, drained by one task at a time on a small
+ * shared pool, so events reach it in commit order and a slow terminal delays only
+ * itself. A terminal that falls dashboard.stream.queue-capacity events behind, or whose
+ * send has been blocked for dashboard.stream.send-timeout-ms, is disconnected; it
+ * reconnects and starts again from a fresh snapshot. A send blocked on a dead connection
+ * holds its pool thread until the connection errors, which the other threads cover for.
+ */
+@Service
+public class DashboardStreamService {
+
+    private final DashboardSnapshotService snapshotService;
+    private final DashboardService dashboardService;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean occupancyDirty = new AtomicBoolean();
+    private final ExecutorService fanOut;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${dashboard.stream.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${dashboard.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    public DashboardStreamService(DashboardSnapshotService snapshotService, DashboardService dashboardService,
+                                  @Value("${dashboard.stream.threads:4}") int threads) {
+        this.snapshotService = snapshotService;
+        this.dashboardService = dashboardService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fanOut = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a terminal and queue its initial snapshot
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+
+        // Built when its turn comes so no delta can overtake the snapshot
+        enqueue(subscriber, () -> event("snapshot", snapshotService.getSnapshot()));
+        return emitter;
+    }
+
+    /**
+     * Number of connected terminals
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        occupancyDirty.set(true);
+        if (!subscribers.isEmpty()) {
+            DashboardBookingDeltaDTO delta = toDelta(event.getBooking(), LocalDate.now());
+            broadcast(() -> event("booking", delta));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomServiceChanged(RoomServiceChangedEvent event) {
+        if (!subscribers.isEmpty()) {
+            Map<String, Object> delta = Map.of(
+                    "roomService", event.getRoomService(),
+                    "deleted", event.isDeleted());
+            broadcast(() -> event("room-service", delta));
+        }
+    }
+
+    /**
+     * Recompute occupancy once for all booking changes since the last flush
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.occupancy-flush-ms:2000}")
+    public void flushOccupancy() {
+        if (subscribers.isEmpty() || !occupancyDirty.getAndSet(false)) {
+            return;
+        }
+        OccupancyRateDTO occupancy = dashboardService.getWeeklyOccupancyRate();
+        broadcast(() -> event("occupancy", occupancy));
+    }
+
+    /**
+     * Keep idle connections open through proxies, detect terminals that went away and
+     * disconnect those whose send has stalled
+     */
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendStartedAt = subscriber.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                drop(subscriber);
+            } else {
+                enqueue(subscriber, () -> SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::drop);
+        fanOut.shutdownNow();
+    }
+
+    private DashboardBookingDeltaDTO toDelta(BookingResponseDTO booking, LocalDate today) {
+        String guestName = booking.getFirstName() + " " + booking.getLastName();
+
+        CheckInSummaryDTO checkIn = null;
+        if ("BOOKED".equals(booking.getStatus()) && today.equals(booking.getCheckInDate())) {
+            int daysRemaining = (int) ChronoUnit.DAYS.between(today, booking.getCheckOutDate());
+            checkIn = new CheckInSummaryDTO(booking.getId(), guestName, booking.getRoomNumber(),
+                    booking.getCheckInDate(), booking.getCheckOutDate(), Math.max(0, daysRemaining));
+        }
+
+        CheckInSummaryDTO checkOut = null;
+        if ("CHECKED_IN".equals(booking.getStatus()) && today.equals(booking.getCheckOutDate())) {
+            checkOut = new CheckInSummaryDTO(booking.getId(), guestName, booking.getRoomNumber(),
+                    booking.getCheckInDate(), booking.getCheckOutDate(), 0);
+        }
+
+        return new DashboardBookingDeltaDTO(booking.getId(), booking.getStatus(), checkIn, checkOut);
+    }
+
+    private SseEmitter.SseEventBuilder event(String name, Object data) {
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Queue an event for every terminal. Builders are single use, so the supplier makes
+     * one per terminal from shared data.
+     */
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (!subscriber.pending.offer(event)) {
+            // Fallen too far behind; it catches up from a new snapshot after reconnecting
+            drop(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                fanOut.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+    }
+
+    /**
+     * Send everything queued for one terminal. Only one drain runs per terminal at a time.
+     */
+    private void drain(Subscriber subscriber) {
+        Supplier<SseEmitter.SseEventBuilder> event;
+        while (!subscriber.closed.get() && (event = subscriber.pending.poll()) != null) {
+            subscriber.sendStartedAt = System.nanoTime();
+            try {
+                subscriber.emitter.send(event.get());
+            } catch (IOException | RuntimeException e) {
+                close(subscriber);
+            } finally {
+                subscriber.sendStartedAt = 0;
+            }
+        }
+
+        if (subscriber.closed.get()) {
+            // Left draining so nothing is scheduled for it again
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.draining.set(false);
+        if (!subscriber.pending.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Disconnect a terminal. When a send is in flight the draining thread completes the
+     * emitter once the send returns, so this never waits on a blocked connection.
+     */
+    private void drop(Subscriber subscriber) {
+        close(subscriber);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        subscribers.remove(subscriber);
+        subscriber.pending.clear();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.booking.hotel.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded concurrent map whose entries expire at a per-entry deadline.
+ *
+ * Entries live in access-ordered maps split into lock stripes. Expired entries are
+ * dropped when they are read; when a stripe is full, adding an entry evicts its least
+ * recently used one in constant time, so a burst of distinct keys displaces cold
+ * entries instead of scanning the map or going uncached.
+ */
+final class ExpiringCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    ExpiringCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>(perStripe);
+        }
+    }
+
+    /**
+     * The cached value, or null when absent or expired
+     */
+    V get(K key) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+                stripe.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * Cache a value until the given epoch millisecond
+     */
+    void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, new Entry<>(value, expiresAtMillis));
+        }
+    }
+
+    void invalidate(K key) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripe(K key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    /**
+     * Access-ordered entry map that drops its least recently used entry when full
+     */
+    private static final class Stripe<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
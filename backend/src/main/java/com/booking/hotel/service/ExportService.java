@@ -0,0 +1,170 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.BookingResponseDTO;
+import com.booking.hotel.dto.RoomServiceResponseDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.RoomService;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.RoomServiceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings and room services straight from a database cursor to an output stream
+ * as NDJSON or CSV. Each row is converted, written and detached before the next one is
+ * read, so memory use does not grow with the size of the export.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final List<String> BOOKING_COLUMNS = List.of(
+            "id", "firstName", "lastName", "pronouns", "checkInDate", "checkOutDate", "adultCapacity",
+            "childrenCapacity", "totalAmount", "status", "roomId", "roomNumber", "roomPrice",
+            "createdAt", "updatedAt");
+
+    private static final List<String> ROOM_SERVICE_COLUMNS = List.of(
+            "id", "roomNumber", "serviceType", "amount", "description", "status", "requestedAt",
+            "completedAt", "guestName", "notes", "bookingId", "claimedBy");
+
+    /** Rows written between flushes of the response */
+    private static final int FLUSH_EVERY = 500;
+
+    private final BookingRepository bookingRepository;
+    private final RoomServiceRepository roomServiceRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(BookingRepository bookingRepository, RoomServiceRepository roomServiceRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.roomServiceRepository = roomServiceRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parse an export format name, case-insensitively
+     */
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + format + " (expected ndjson or csv)");
+        }
+    }
+
+    /**
+     * Write bookings checking in from startDate through endDate, optionally of one status
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportBookings(LocalDate startDate, LocalDate endDate, Booking.BookingStatus status,
+                               Format format, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamForExport(startDate, endDate.plusDays(1), status)) {
+            return write(bookings, BookingResponseDTO::new, BOOKING_COLUMNS, this::bookingRow, format, out);
+        }
+    }
+
+    /**
+     * Write room services requested from startDate through endDate, optionally of one status
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportRoomServices(LocalDate startDate, LocalDate endDate, RoomService.ServiceStatus status,
+                                   Format format, OutputStream out) throws IOException {
+        try (Stream<RoomService> roomServices = roomServiceRepository.streamForExport(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), status)) {
+            return write(roomServices, RoomServiceResponseDTO::new, ROOM_SERVICE_COLUMNS, this::roomServiceRow,
+                    format, out);
+        }
+    }
+
+    private <E, D> long write(Stream<E> rows, Function<E, D> toDTO, List<String> columns,
+                              Function<D, List<Object>> toRow, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+        }
+
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            E entity = iterator.next();
+            D dto = toDTO.apply(entity);
+            entityManager.detach(entity);
+
+            if (format == Format.CSV) {
+                writeCsvLine(writer, toRow.apply(dto));
+            } else {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+                // Also drops rooms and booking proxies the detached rows left behind
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private List<Object> bookingRow(BookingResponseDTO booking) {
+        return Arrays.asList(booking.getId(), booking.getFirstName(), booking.getLastName(),
+                booking.getPronouns(), booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getAdultCapacity(), booking.getChildrenCapacity(), booking.getTotalAmount(),
+                booking.getStatus(), booking.getRoomId(), booking.getRoomNumber(), booking.getRoomPrice(),
+                booking.getCreatedAt(), booking.getUpdatedAt());
+    }
+
+    private List<Object> roomServiceRow(RoomServiceResponseDTO roomService) {
+        return Arrays.asList(roomService.getId(), roomService.getRoomNumber(), roomService.getServiceType(),
+                roomService.getAmount(), roomService.getDescription(), roomService.getStatus(),
+                roomService.getRequestedAt(), roomService.getCompletedAt(), roomService.getGuestName(),
+                roomService.getNotes(), roomService.getBookingId(), roomService.getClaimedBy());
+    }
+
+    /**
+     * Write one RFC 4180 line, leaving nulls empty and quoting fields that contain a
+     * delimiter, quote or line break
+     */
+    private static void writeCsvLine(Writer writer, List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = fields.get(i);
+            String field = value != null ? value.toString() : "";
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,276 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.CheckoutSummaryDTO;
+import com.booking.hotel.dto.ServiceChargeDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Folio;
+import com.booking.hotel.entity.FolioLineItem;
+import com.booking.hotel.entity.RoomService;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.FolioLineItemRepository;
+import com.booking.hotel.repository.FolioRepository;
+import com.booking.hotel.repository.RoomServiceRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps each checked-in guest's folio up to date. The cleaning fee is posted at check-in,
+ * room services when they complete, and room nights with their tax by the nightly audit.
+ * Checkout posts whatever nights the audit has not reached yet, so the bill is read from
+ * the folio's running totals instead of being recomputed from every charge.
+ *
+ * Every posting locks the folio row first, so the audit, room service updates and
+ * checkout never lose each other's changes.
+ */
+@Service
+@Transactional
+public class FolioService {
+
+    static final BigDecimal TAX_RATE = new BigDecimal("0.10");
+
+    static final BigDecimal CLEANING_FEE = BigDecimal.valueOf(3000);
+
+    private final FolioRepository folioRepository;
+    private final FolioLineItemRepository lineItemRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomServiceRepository roomServiceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public FolioService(FolioRepository folioRepository, FolioLineItemRepository lineItemRepository,
+                        BookingRepository bookingRepository, RoomServiceRepository roomServiceRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.folioRepository = folioRepository;
+        this.lineItemRepository = lineItemRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomServiceRepository = roomServiceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Open the folio for a guest who just checked in
+     */
+    public Folio open(Booking booking) {
+        return lock(booking);
+    }
+
+    /**
+     * Post a completed room service to the folio of the stay it belongs to. Services of
+     * guests who already checked out are not billed, and a guest without a folio yet has
+     * the service posted when the audit opens it.
+     */
+    public void postRoomService(RoomService roomService) {
+        Booking booking = roomService.getBooking();
+        if (booking == null || booking.getStatus() != Booking.BookingStatus.CHECKED_IN) {
+            return;
+        }
+        if (lineItemRepository.findByRoomServiceId(roomService.getId()).isPresent()) {
+            return; // Already billed
+        }
+        folioRepository.findByBookingIdForUpdate(booking.getId()).ifPresent(folio -> {
+            if (lineItemRepository.findByRoomServiceId(roomService.getId()).isEmpty()) {
+                addServiceLine(folio, roomService);
+            }
+        });
+    }
+
+    /**
+     * Take a room service off the folio it was billed to, e.g. when it is no longer
+     * completed or was deleted. A folio closed at checkout is a settled bill and keeps it.
+     */
+    public void reverseRoomService(Long roomServiceId) {
+        lineItemRepository.findByRoomServiceId(roomServiceId).ifPresent(line -> {
+            Folio folio = folioRepository.findByBookingIdForUpdate(line.getFolio().getBooking().getId())
+                    .orElseThrow(() -> new RuntimeException("Folio not found for room service: " + roomServiceId));
+            if (folio.getClosedAt() != null) {
+                return;
+            }
+            folio.setServiceTotal(folio.getServiceTotal().subtract(line.getAmount()));
+            folio.setBalance(folio.getBalance().subtract(line.getAmount()));
+            lineItemRepository.delete(line);
+        });
+    }
+
+    /**
+     * Bill for checking out on the given date. Nights the audit has not posted yet are
+     * added to the totals without being written; a guest whose folio is not open yet is
+     * billed the cleaning fee and completed services the folio would start with.
+     */
+    @Transactional(readOnly = true)
+    public CheckoutSummaryDTO getSummary(Booking booking, LocalDate checkOutDate) {
+        Folio folio = folioRepository.findByBookingId(booking.getId()).orElse(null);
+        if (folio != null) {
+            return summarize(booking, folio, serviceLines(folio), checkOutDate);
+        }
+
+        Folio unopened = new Folio(booking);
+        List<ServiceChargeDTO> services = new ArrayList<>();
+        BigDecimal serviceTotal = BigDecimal.ZERO;
+        for (RoomService roomService : roomServiceRepository.findCompletedByBookingId(booking.getId())) {
+            services.add(new ServiceChargeDTO(serviceName(roomService), roomService.getAmount()));
+            serviceTotal = serviceTotal.add(roomService.getAmount());
+        }
+        unopened.setFeeTotal(CLEANING_FEE);
+        unopened.setServiceTotal(serviceTotal);
+        unopened.setBalance(CLEANING_FEE.add(serviceTotal));
+        return summarize(booking, unopened, services, checkOutDate);
+    }
+
+    /**
+     * Post the remaining nights and close the folio at checkout
+     */
+    public CheckoutSummaryDTO close(Booking booking, LocalDate checkOutDate) {
+        Folio folio = lock(booking);
+        postNights(folio, booking, billableNights(booking, checkOutDate));
+        folio.setClosedAt(LocalDateTime.now());
+        return summarize(booking, folio, serviceLines(folio), checkOutDate);
+    }
+
+    /**
+     * Post last night's room charge for every checked-in guest
+     */
+    @Scheduled(cron = "${booking.folio.night-audit-cron:0 5 0 * * *}")
+    public void scheduledNightAudit() {
+        int posted = postNightsThrough(LocalDate.now());
+        if (posted > 0) {
+            System.out.println("Night audit posted " + posted + " room nights");
+        }
+    }
+
+    /**
+     * Post room nights before the given date for every checked-in guest, one guest per
+     * transaction
+     *
+     * @return number of nights posted
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int postNightsThrough(LocalDate date) {
+        int posted = 0;
+        for (Booking booking : bookingRepository.findCurrentGuests()) {
+            long nights = Math.max(0, ChronoUnit.DAYS.between(booking.getCheckInDate(), date));
+            posted += transactionTemplate.execute(status -> {
+                Folio folio = lock(booking);
+                int before = folio.getNightsPosted();
+                postNights(folio, booking, (int) nights);
+                return folio.getNightsPosted() - before;
+            });
+        }
+        return posted;
+    }
+
+    /**
+     * Lock a booking's folio, opening it when the guest has none yet. A folio opened for
+     * a guest who is already staying picks up the room services they completed so far.
+     * Openers of the same folio queue on the booking row first, so only one inserts it.
+     */
+    private Folio lock(Booking booking) {
+        Optional<Folio> existing = folioRepository.findByBookingIdForUpdate(booking.getId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        bookingRepository.findByIdForUpdate(booking.getId());
+        return folioRepository.findByBookingIdForUpdate(booking.getId()).orElseGet(() -> {
+            Folio folio = folioRepository.save(new Folio(booking));
+            addLine(folio, FolioLineItem.LineType.FEE, "Cleaning Fee", CLEANING_FEE);
+            folio.setFeeTotal(folio.getFeeTotal().add(CLEANING_FEE));
+
+            for (RoomService roomService : roomServiceRepository.findCompletedByBookingId(booking.getId())) {
+                addServiceLine(folio, roomService);
+            }
+            return folio;
+        });
+    }
+
+    private void postNights(Folio folio, Booking booking, int nights) {
+        BigDecimal rate = booking.getRoom().getPrice();
+        for (int night = folio.getNightsPosted(); night < nights; night++) {
+            LocalDate stayDate = booking.getCheckInDate().plusDays(night);
+            BigDecimal tax = taxThrough(rate, night + 1).subtract(taxThrough(rate, night));
+            addLine(folio, FolioLineItem.LineType.ROOM_NIGHT, "Room " + booking.getRoom().getRoomNumber(), rate)
+                    .setStayDate(stayDate);
+            addLine(folio, FolioLineItem.LineType.TAX, "Tax (10%)", tax).setStayDate(stayDate);
+
+            folio.setRoomTotal(folio.getRoomTotal().add(rate));
+            folio.setTaxTotal(folio.getTaxTotal().add(tax));
+            folio.setNightsPosted(night + 1);
+        }
+    }
+
+    private void addServiceLine(Folio folio, RoomService roomService) {
+        addLine(folio, FolioLineItem.LineType.ROOM_SERVICE, serviceName(roomService), roomService.getAmount())
+                .setRoomServiceId(roomService.getId());
+        folio.setServiceTotal(folio.getServiceTotal().add(roomService.getAmount()));
+    }
+
+    private FolioLineItem addLine(Folio folio, FolioLineItem.LineType type, String description, BigDecimal amount) {
+        FolioLineItem line = lineItemRepository.save(new FolioLineItem(folio, type, description, amount));
+        folio.setBalance(folio.getBalance().add(amount));
+        return line;
+    }
+
+    private List<ServiceChargeDTO> serviceLines(Folio folio) {
+        List<ServiceChargeDTO> services = new ArrayList<>();
+        for (FolioLineItem line : lineItemRepository.findByFolioAndType(
+                folio.getId(), FolioLineItem.LineType.ROOM_SERVICE)) {
+            services.add(new ServiceChargeDTO(line.getDescription(), line.getAmount()));
+        }
+        return services;
+    }
+
+    private CheckoutSummaryDTO summarize(Booking booking, Folio folio, List<ServiceChargeDTO> services,
+                                         LocalDate checkOutDate) {
+        int totalNights = billableNights(booking, checkOutDate);
+        int posted = folio.getNightsPosted();
+        int unposted = Math.max(0, totalNights - posted);
+        BigDecimal rate = booking.getRoom().getPrice();
+        BigDecimal unpostedRoom = rate.multiply(BigDecimal.valueOf(unposted));
+        BigDecimal unpostedTax = unposted == 0 ? BigDecimal.ZERO
+                : taxThrough(rate, totalNights).subtract(taxThrough(rate, posted));
+
+        List<ServiceChargeDTO> serviceCharges = new ArrayList<>();
+        serviceCharges.add(new ServiceChargeDTO("Tax (10%)", folio.getTaxTotal().add(unpostedTax)));
+        serviceCharges.add(new ServiceChargeDTO("Cleaning Fee", folio.getFeeTotal()));
+        serviceCharges.addAll(services);
+
+        return new CheckoutSummaryDTO(
+            folio.getRoomTotal().add(unpostedRoom),
+            serviceCharges,
+            folio.getBalance().add(unpostedRoom).add(unpostedTax),
+            totalNights,
+            booking.getCheckInDate(),
+            checkOutDate
+        );
+    }
+
+    /**
+     * Nights charged when leaving on the given date, at least one
+     */
+    private static int billableNights(Booking booking, LocalDate checkOutDate) {
+        return (int) Math.max(1, ChronoUnit.DAYS.between(booking.getCheckInDate(), checkOutDate));
+    }
+
+    /**
+     * Tax on a stay's first nights: 10% of their room total, rounded to cents once, so the
+     * nightly tax lines add up to the tax on the whole stay's room total
+     */
+    private static BigDecimal taxThrough(BigDecimal rate, int nights) {
+        return rate.multiply(BigDecimal.valueOf(nights)).multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String serviceName(RoomService roomService) {
+        return roomService.getServiceType() + " - " +
+                (roomService.getDescription() != null ? roomService.getDescription() : "Room Service");
+    }
+}
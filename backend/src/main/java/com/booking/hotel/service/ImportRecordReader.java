@@ -0,0 +1,163 @@
+package com.booking.hotel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one record at a time, so only the current record is held in
+ * memory. CSV files start with a header row naming the fields; NDJSON files hold one
+ * JSON object per line. Blank lines are skipped and records are numbered from 1, so the
+ * same file always yields the same row numbers.
+ */
+class ImportRecordReader implements Closeable {
+
+    /**
+     * One record of the file. A record that could not be parsed has an error and no fields.
+     */
+    record Record(long rowNumber, Map<String, String> fields, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ExportService.Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long rowNumber;
+
+    ImportRecordReader(InputStream in, ExportService.Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the next record, or null at the end of the file
+     */
+    Record next() throws IOException {
+        return format == ExportService.Format.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private Record nextNdjson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long row = ++rowNumber;
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return new Record(row, Map.of(), "Expected a JSON object");
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                JsonNode value = entry.getValue();
+                fields.put(entry.getKey(), value.isNull() ? null : value.asText());
+            }
+            return new Record(row, fields, null);
+        } catch (JsonProcessingException e) {
+            return new Record(row, Map.of(), "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Record nextCsv() throws IOException {
+        if (header == null) {
+            header = readCsvLine();
+            if (header == null) {
+                return null;
+            }
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+        }
+
+        List<String> values;
+        do {
+            values = readCsvLine();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        long row = ++rowNumber;
+        if (values.size() != header.size()) {
+            return new Record(row, Map.of(), "Expected " + header.size() + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i).trim(), values.get(i));
+        }
+        return new Record(row, fields, null);
+    }
+
+    /**
+     * Read one RFC 4180 line; quoted fields may contain delimiters, doubled quotes and
+     * line breaks. Returns null at the end of the file.
+     */
+    private List<String> readCsvLine() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
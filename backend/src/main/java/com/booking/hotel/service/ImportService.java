@@ -0,0 +1,555 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.ImportJobDTO;
+import com.booking.hotel.dto.ImportRejectDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.ImportJob;
+import com.booking.hotel.entity.ImportReject;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.ImportJobRepository;
+import com.booking.hotel.repository.ImportRejectRepository;
+import com.booking.hotel.repository.RoomRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of rooms and bookings from CSV or NDJSON files, e.g. when migrating a
+ * property from another PMS.
+ *
+ * The file is read one record at a time and committed in chunks. Each chunk is
+ * validated, checked for overlapping stays, inserted in large JDBC batches and recorded
+ * on its import job in a single transaction, so memory use is bounded by the chunk size
+ * and a failed import resumes after the last committed chunk. Rows that fail validation
+ * are recorded as rejects and do not stop the import.
+ *
+ * Overlaps are found with a per-room sweep: the chunk's bookings are sorted by room and
+ * check-in date and each is compared with the last stay accepted for its room, and with
+ * the non-cancelled stays already stored for that room. Earlier chunks are committed by
+ * then, so overlaps across chunks are caught by the same check.
+ */
+@Service
+public class ImportService {
+
+    private static final int MAX_CHUNK_SIZE = 10000;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportRejectRepository importRejectRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomInventoryService inventoryService;
+    private final OccupancyRollupService occupancyRollup;
+    private final BookingSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.import.chunk-size:1000}")
+    private int defaultChunkSize;
+
+    @Value("${booking.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    public ImportService(ImportJobRepository importJobRepository, ImportRejectRepository importRejectRepository,
+                         BookingRepository bookingRepository, RoomRepository roomRepository,
+                         RoomInventoryService inventoryService, OccupancyRollupService occupancyRollup,
+                         BookingSearchIndex searchIndex, EntityManager entityManager, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.importJobRepository = importJobRepository;
+        this.importRejectRepository = importRejectRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.inventoryService = inventoryService;
+        this.occupancyRollup = occupancyRollup;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A parsed booking and the row it came from
+     */
+    private record Candidate(long rowNumber, Booking booking) {
+    }
+
+    /**
+     * Start importing a file. The format is taken from the file name when not given.
+     */
+    public ImportJobDTO startImport(ImportJob.Kind kind, InputStream in, String fileName, long fileSize,
+                                    String format, Integer chunkSize) {
+        ExportService.Format fileFormat = format != null
+                ? ExportService.parseFormat(format)
+                : fileName != null && fileName.toLowerCase().endsWith(".csv")
+                        ? ExportService.Format.CSV : ExportService.Format.NDJSON;
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+
+        ImportJob job = transactionTemplate.execute(status -> importJobRepository.save(
+                new ImportJob(kind, fileName, fileSize, fileFormat.name(), size)));
+        return run(job, in);
+    }
+
+    /**
+     * Continue an import that failed or was interrupted, reading the same file again
+     * and skipping the rows already committed
+     */
+    public ImportJobDTO resumeImport(Long jobId, InputStream in, long fileSize) {
+        ImportJob job = transactionTemplate.execute(status -> {
+            ImportJob existing = importJobRepository.findByIdForUpdate(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found with id: " + jobId));
+            if (existing.getStatus() == ImportJob.Status.COMPLETED) {
+                throw new IllegalArgumentException("Import job " + jobId + " is already completed");
+            }
+            if (existing.getFileSize() != fileSize) {
+                throw new IllegalArgumentException("Uploaded file does not match import job " + jobId +
+                        ": expected " + existing.getFileSize() + " bytes but got " + fileSize);
+            }
+            existing.setStatus(ImportJob.Status.RUNNING);
+            existing.setError(null);
+            return existing;
+        });
+        return run(job, in);
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobDTO getJob(Long jobId) {
+        return importJobRepository.findById(jobId)
+                .map(ImportJobDTO::new)
+                .orElseThrow(() -> new RuntimeException("Import job not found with id: " + jobId));
+    }
+
+    /**
+     * Rejected rows of an import job in file order
+     */
+    @Transactional(readOnly = true)
+    public Page<ImportRejectDTO> getRejects(Long jobId, int page, int size) {
+        if (!importJobRepository.existsById(jobId)) {
+            throw new RuntimeException("Import job not found with id: " + jobId);
+        }
+        return importRejectRepository.findByJobId(jobId, PageRequest.of(page, size)).map(ImportRejectDTO::new);
+    }
+
+    private ImportJobDTO run(ImportJob job, InputStream in) {
+        Long jobId = job.getId();
+        int chunkSize = job.getChunkSize();
+        long committed = job.getRowsCommitted();
+
+        try (ImportRecordReader reader = new ImportRecordReader(
+                in, ExportService.Format.valueOf(job.getFormat()), objectMapper)) {
+            List<ImportRecordReader.Record> chunk = new ArrayList<>(chunkSize);
+            ImportRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                if (record.rowNumber() <= committed) {
+                    continue; // Committed by an earlier run
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    committed = commitChunk(jobId, committed, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(jobId, committed, chunk);
+            }
+            complete(jobId);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Import job " + jobId + " failed: " + e.getMessage());
+            fail(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        return getJob(jobId);
+    }
+
+    /**
+     * Import one chunk and move the job past it in a single transaction
+     *
+     * @return the last row number of the chunk
+     */
+    private long commitChunk(Long jobId, long committed, List<ImportRecordReader.Record> chunk) {
+        return transactionTemplate.execute(status -> {
+            ImportJob job = importJobRepository.findByIdForUpdate(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found with id: " + jobId));
+            if (job.getRowsCommitted() != committed) {
+                throw new RuntimeException("Import job " + jobId + " was advanced by another run");
+            }
+
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(jdbcBatchSize);
+            try {
+                List<ImportReject> rejects = new ArrayList<>();
+                int imported = job.getKind() == ImportJob.Kind.BOOKINGS
+                        ? importBookings(job, chunk, rejects)
+                        : importRooms(job, chunk, rejects);
+                importRejectRepository.saveAll(rejects);
+
+                long lastRow = chunk.get(chunk.size() - 1).rowNumber();
+                job.setRowsCommitted(lastRow);
+                job.setImportedRows(job.getImportedRows() + imported);
+                job.setRejectedRows(job.getRejectedRows() + rejects.size());
+
+                // Write the batches now and drop the chunk's entities before the next one
+                entityManager.flush();
+                entityManager.clear();
+                return lastRow;
+            } finally {
+                session.setJdbcBatchSize(null);
+            }
+        });
+    }
+
+    private void complete(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found with id: " + jobId));
+
+        // Imported bookings bypass BookingService, so index them afterwards
+        if (job.getKind() == ImportJob.Kind.BOOKINGS && job.getFirstStayDate() != null) {
+            searchIndex.rebuild();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ImportJob completed = importJobRepository.findByIdForUpdate(jobId).orElseThrow();
+            completed.setStatus(ImportJob.Status.COMPLETED);
+            completed.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    private void fail(Long jobId, String error) {
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.findByIdForUpdate(jobId)
+                .ifPresent(job -> {
+                    job.setStatus(ImportJob.Status.FAILED);
+                    job.setError(error.length() > 1000 ? error.substring(0, 1000) : error);
+                }));
+    }
+
+    private int importRooms(ImportJob job, List<ImportRecordReader.Record> chunk, List<ImportReject> rejects) {
+        Set<String> existing = roomRepository.findByRoomNumberIn(fieldValues(chunk, "roomNumber")).stream()
+                .map(Room::getRoomNumber)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Room> rooms = new ArrayList<>();
+        for (ImportRecordReader.Record record : chunk) {
+            try {
+                if (record.error() != null) {
+                    throw new IllegalArgumentException(record.error());
+                }
+                Room room = parseRoom(record.fields());
+                if (!existing.add(room.getRoomNumber())) {
+                    throw new IllegalArgumentException("Room " + room.getRoomNumber() + " already exists");
+                }
+                rooms.add(room);
+            } catch (IllegalArgumentException e) {
+                rejects.add(new ImportReject(job, record.rowNumber(), e.getMessage()));
+            }
+        }
+
+        roomRepository.saveAll(rooms);
+        return rooms.size();
+    }
+
+    private int importBookings(ImportJob job, List<ImportRecordReader.Record> chunk, List<ImportReject> rejects) {
+        Map<String, Room> rooms = roomRepository.findByRoomNumberIn(fieldValues(chunk, "roomNumber")).stream()
+                .collect(Collectors.toMap(Room::getRoomNumber, room -> room));
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (ImportRecordReader.Record record : chunk) {
+            try {
+                if (record.error() != null) {
+                    throw new IllegalArgumentException(record.error());
+                }
+                candidates.add(new Candidate(record.rowNumber(), parseBooking(record.fields(), rooms)));
+            } catch (IllegalArgumentException e) {
+                rejects.add(new ImportReject(job, record.rowNumber(), e.getMessage()));
+            }
+        }
+
+        List<Booking> bookings = rejectOverlaps(job, candidates, rejects);
+        bookingRepository.saveAll(bookings);
+
+        List<Booking> holding = bookings.stream()
+                .filter(booking -> RoomInventoryService.holdsRoom(booking.getStatus()))
+                .toList();
+        if (!holding.isEmpty()) {
+            inventoryService.reserveAll(holding);
+        }
+        // Rolled up with the chunk, so a resumed import never counts a booking twice
+        occupancyRollup.recordCreated(bookings);
+        for (Booking booking : bookings) {
+            job.coverStay(booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+        return bookings.size();
+    }
+
+    /**
+     * Sweep each room's stays in check-in order and reject those that overlap a stay
+     * accepted before them or one already stored. Cancelled bookings hold no room and
+     * are never rejected here.
+     *
+     * @return the bookings to import, in row order
+     */
+    private List<Booking> rejectOverlaps(ImportJob job, List<Candidate> candidates, List<ImportReject> rejects) {
+        List<Candidate> stays = candidates.stream()
+                .filter(candidate -> candidate.booking().getStatus() != Booking.BookingStatus.CANCELLED)
+                .sorted(Comparator.comparing((Candidate candidate) -> candidate.booking().getRoom().getId())
+                        .thenComparing(candidate -> candidate.booking().getCheckInDate())
+                        .thenComparingLong(Candidate::rowNumber))
+                .toList();
+        if (stays.isEmpty()) {
+            return candidates.stream().map(Candidate::booking).toList();
+        }
+
+        Map<Long, NavigableMap<LocalDate, LocalDate>> stored = storedStays(stays);
+        Set<Long> rejected = new HashSet<>();
+        Long roomId = null;
+        LocalDate lastCheckOut = null;
+        for (Candidate candidate : stays) {
+            Booking booking = candidate.booking();
+            if (!booking.getRoom().getId().equals(roomId)) {
+                roomId = booking.getRoom().getId();
+                lastCheckOut = null;
+            }
+
+            String conflict = null;
+            if (lastCheckOut != null && booking.getCheckInDate().isBefore(lastCheckOut)) {
+                conflict = "Overlaps another booking for room " + booking.getRoom().getRoomNumber() + " in this file";
+            } else if (overlaps(stored.get(roomId), booking.getCheckInDate(), booking.getCheckOutDate())) {
+                conflict = "Room " + booking.getRoom().getRoomNumber() + " already has a booking between " +
+                        booking.getCheckInDate() + " and " + booking.getCheckOutDate();
+            }
+
+            if (conflict != null) {
+                rejected.add(candidate.rowNumber());
+                rejects.add(new ImportReject(job, candidate.rowNumber(), conflict));
+            } else {
+                lastCheckOut = booking.getCheckOutDate();
+            }
+        }
+
+        return candidates.stream()
+                .filter(candidate -> !rejected.contains(candidate.rowNumber()))
+                .map(Candidate::booking)
+                .toList();
+    }
+
+    /**
+     * Stored stays of the candidates' rooms within the candidates' dates, merged into
+     * disjoint [checkIn, checkOut) intervals per room
+     */
+    private Map<Long, NavigableMap<LocalDate, LocalDate>> storedStays(List<Candidate> stays) {
+        Set<Long> roomIds = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Candidate candidate : stays) {
+            Booking booking = candidate.booking();
+            roomIds.add(booking.getRoom().getId());
+            from = from == null || booking.getCheckInDate().isBefore(from) ? booking.getCheckInDate() : from;
+            to = to == null || booking.getCheckOutDate().isAfter(to) ? booking.getCheckOutDate() : to;
+        }
+
+        List<Object[]> rows = new ArrayList<>(bookingRepository.findStaysOverlapping(roomIds, from, to));
+        rows.sort(Comparator.comparing((Object[] row) -> (Long) row[0]).thenComparing(row -> (LocalDate) row[1]));
+
+        Map<Long, NavigableMap<LocalDate, LocalDate>> merged = new HashMap<>();
+        for (Object[] row : rows) {
+            NavigableMap<LocalDate, LocalDate> intervals = merged.computeIfAbsent((Long) row[0], id -> new TreeMap<>());
+            LocalDate checkIn = (LocalDate) row[1];
+            LocalDate checkOut = (LocalDate) row[2];
+            Map.Entry<LocalDate, LocalDate> last = intervals.lastEntry();
+            if (last != null && !checkIn.isAfter(last.getValue())) {
+                if (checkOut.isAfter(last.getValue())) {
+                    intervals.put(last.getKey(), checkOut);
+                }
+            } else {
+                intervals.put(checkIn, checkOut);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Whether [checkIn, checkOut) overlaps any of a room's disjoint intervals
+     */
+    private static boolean overlaps(NavigableMap<LocalDate, LocalDate> intervals, LocalDate checkIn,
+                                    LocalDate checkOut) {
+        if (intervals == null) {
+            return false;
+        }
+        Map.Entry<LocalDate, LocalDate> before = intervals.lowerEntry(checkOut);
+        return before != null && before.getValue().isAfter(checkIn);
+    }
+
+    private static Booking parseBooking(Map<String, String> fields, Map<String, Room> rooms) {
+        String roomNumber = required(fields, "roomNumber", 10);
+        Room room = rooms.get(roomNumber);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found: " + roomNumber);
+        }
+
+        LocalDate checkInDate = date(fields, "checkInDate");
+        LocalDate checkOutDate = date(fields, "checkOutDate");
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+
+        int adults = integer(fields, "adultCapacity", null);
+        int children = integer(fields, "childrenCapacity", 0);
+        if (adults < 1 || children < 0) {
+            throw new IllegalArgumentException("Guest counts must be at least 1 adult and 0 children");
+        }
+        if (room.getAdultCapacity() < adults) {
+            throw new IllegalArgumentException("Room adult capacity (" + room.getAdultCapacity() +
+                    ") is insufficient for requested capacity (" + adults + ")");
+        }
+        if (room.getChildrenCapacity() < children) {
+            throw new IllegalArgumentException("Room children capacity (" + room.getChildrenCapacity() +
+                    ") is insufficient for requested capacity (" + children + ")");
+        }
+
+        BigDecimal totalAmount = decimal(fields, "totalAmount");
+        if (totalAmount == null) {
+            totalAmount = room.getPrice().multiply(
+                    BigDecimal.valueOf(ChronoUnit.DAYS.between(checkInDate, checkOutDate)));
+        } else if (totalAmount.signum() < 0) {
+            throw new IllegalArgumentException("totalAmount must not be negative");
+        }
+
+        Booking booking = new Booking(
+                required(fields, "firstName", 50),
+                required(fields, "lastName", 50),
+                required(fields, "pronouns", 20),
+                checkInDate,
+                checkOutDate,
+                adults,
+                children,
+                room,
+                totalAmount
+        );
+        String status = text(fields, "status");
+        if (status != null) {
+            booking.setStatus(enumValue(Booking.BookingStatus.class, "status", status));
+        }
+        return booking;
+    }
+
+    private static Room parseRoom(Map<String, String> fields) {
+        String roomNumber = required(fields, "roomNumber", 10);
+        Room.RoomType roomType = enumValue(Room.RoomType.class, "roomType", required(fields, "roomType", 20));
+
+        BigDecimal price = decimal(fields, "price");
+        if (price == null || price.signum() <= 0) {
+            throw new IllegalArgumentException("price must be greater than 0");
+        }
+
+        int adults = integer(fields, "adultCapacity", null);
+        int children = integer(fields, "childrenCapacity", 0);
+        if (adults < 1 || children < 0) {
+            throw new IllegalArgumentException("Capacity must be at least 1 adult and 0 children");
+        }
+
+        String isActive = text(fields, "isActive");
+        if (isActive != null && !isActive.equalsIgnoreCase("true") && !isActive.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid isActive: " + isActive);
+        }
+
+        return new Room(roomNumber, roomType, price, adults, children, text(fields, "description"),
+                isActive == null || Boolean.parseBoolean(isActive));
+    }
+
+    private static Set<String> fieldValues(List<ImportRecordReader.Record> chunk, String name) {
+        return chunk.stream()
+                .map(record -> text(record.fields(), name))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String required(Map<String, String> fields, String name, int maxLength) {
+        String value = text(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " must be at most " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDate date(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + " (use YYYY-MM-DD)");
+        }
+    }
+
+    private static int integer(Map<String, String> fields, String name, Integer defaultValue) {
+        String value = text(fields, name);
+        if (value == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException(name + " is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static BigDecimal decimal(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -6,30 +6,107 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * The signing key and parser are built once. A token is parsed and its signature and
+ * expiry checked at most once per cache lifetime: verified claims are kept in a bounded
+ * cache keyed by the SHA-256 of the token, each entry expiring after jwt.cache.ttl or at
+ * the token's own expiry, whichever comes first.
+ *
+ * Revoked tokens are rejected on every call, cached or not, through
+ * {@link TokenRevocationService}.
+ */
 @Service
 public class JWTTokenService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
 
     private final long refreshExpiration = 7 * 24 * 60 * 60 * 1000; // 7 days
 
+    private final long cacheTtl;
+
+    private final SecretKey signInKey;
+
+    private final JwtParser parser;
+
+    private final ExpiringCache<String, Claims> verifiedTokens;
+
+    private final TokenRevocationService revocationService;
+
+    public JWTTokenService(TokenRevocationService revocationService,
+                           @Value("${jwt.secret}") String secretKey,
+                           @Value("${jwt.expiration}") long jwtExpiration,
+                           @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries,
+                           @Value("${jwt.cache.ttl:300000}") long cacheTtl) {
+        this.jwtExpiration = jwtExpiration;
+        this.cacheTtl = cacheTtl;
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.verifiedTokens = new ExpiringCache<>(cacheMaxEntries);
+        this.revocationService = revocationService;
+    }
+
+    /**
+     * Claims of a token whose signature and expiry have been checked. Parses the token
+     * only when it is not already cached.
+     *
+     * @throws JwtException if the token is malformed, forged, expired or revoked
+     * @throws IllegalArgumentException if the token is blank
+     */
+    public Claims verify(String token) {
+        String key = hash(token);
+        Claims claims = verifiedTokens.get(key);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            cache(key, claims);
+        }
+        if (revocationService.isRevoked(claims.getId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    /**
+     * Revoke a token until it expires. Tokens that have already expired are ignored.
+     *
+     * @throws JwtException if the token is malformed or forged
+     */
+    public void revoke(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            return;
+        }
+        revocationService.revoke(claims.getId(), claims.getExpiration());
+        verifiedTokens.invalidate(hash(token));
+    }
+
+    private void cache(String key, Claims claims) {
+        long expiresAt = System.currentTimeMillis() + cacheTtl;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        verifiedTokens.put(key, claims, expiresAt);
+    }
+
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token));
     }
 
     public String generateToken(String email, String role) {
@@ -58,47 +135,40 @@ public class JWTTokenService {
                 .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Whether the token is genuine, unexpired and issued to the given email. The parser
+     * rejects expired tokens, so one verification covers both checks.
+     */
     public boolean isTokenValid(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email)) && !isTokenExpired(token);
+        return email.equals(extractEmail(token));
     }
 
     public boolean isTokenValid(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            verify(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public String extractRole(String token) {
         return extractClaim(token, claims -> (String) claims.get("role"));
     }
-}
\ No newline at end of file
+
+    private static String hash(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("JWT must not be null");
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.DailyOccupancy;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.DailyOccupancyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily_occupancy rollup. Booking lifecycle changes are applied as
+ * per-day deltas in the same transaction as the booking write; {@link #rebuild}
+ * recomputes rows from bookings month by month.
+ *
+ * Per stay date: rooms sold counts the nights given by {@link #countedNightsEnd}, arrivals
+ * count BOOKED or CHECKED_IN bookings by check-in date (the chart's "approved" series),
+ * departures count non-cancelled bookings by check-out date, cancellations count
+ * cancelled bookings by check-in date, and revenue sums non-cancelled booking totals by
+ * check-in date. Deltas and rebuilds apply the same rules, so a rebuild reproduces what
+ * the deltas wrote, and a rebuild holds the rows of the month it recomputes so deltas
+ * committed meanwhile are neither lost nor counted twice.
+ */
+@Service
+@Transactional
+public class OccupancyRollupService {
+
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OccupancyRollupService(DailyOccupancyRepository dailyOccupancyRepository,
+                                  BookingRepository bookingRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rollup rows for a date range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public List<DailyOccupancy> getRange(LocalDate startDate, LocalDate endDate) {
+        return dailyOccupancyRepository.findByStayDateBetweenOrderByStayDateAsc(startDate, endDate);
+    }
+
+    /**
+     * Rooms sold on a date
+     */
+    @Transactional(readOnly = true)
+    public int getRoomsSold(LocalDate date) {
+        return dailyOccupancyRepository.findById(date)
+                .map(DailyOccupancy::getRoomsSold)
+                .orElse(0);
+    }
+
+    /**
+     * End (exclusive) of the nights a booking counts as sold, starting at check-in. A
+     * booking that holds its room counts its whole stay; one that gave it up counts the
+     * nights before {@link Booking#getNightsReleasedFrom()}. Bookings released before that
+     * date was recorded count their whole stay when checked out and nothing when cancelled.
+     */
+    public static LocalDate countedNightsEnd(LocalDate checkIn, LocalDate checkOut, Booking.BookingStatus status,
+                                             LocalDate nightsReleasedFrom) {
+        if (RoomInventoryService.holdsRoom(status)) {
+            return checkOut;
+        }
+        if (nightsReleasedFrom == null) {
+            return status == Booking.BookingStatus.CHECKED_OUT ? checkOut : checkIn;
+        }
+        return nightsReleasedFrom.isBefore(checkIn) ? checkIn
+                : nightsReleasedFrom.isAfter(checkOut) ? checkOut : nightsReleasedFrom;
+    }
+
+    public static LocalDate countedNightsEnd(Booking booking) {
+        return countedNightsEnd(booking.getCheckInDate(), booking.getCheckOutDate(), booking.getStatus(),
+                booking.getNightsReleasedFrom());
+    }
+
+    /**
+     * Add newly created bookings
+     */
+    public void recordCreated(List<Booking> bookings) {
+        Map<LocalDate, DailyOccupancy> deltas = new TreeMap<>();
+        for (Booking booking : bookings) {
+            addBooking(deltas, booking.getCheckInDate(), booking.getCheckOutDate(), booking.getStatus(),
+                    booking.getTotalAmount(), countedNightsEnd(booking), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move a booking's contribution to match a status transition
+     *
+     * @param previousNightsEnd {@link #countedNightsEnd} of the booking before the change
+     */
+    public void recordStatusChange(Booking booking, Booking.BookingStatus previousStatus,
+                                   LocalDate previousNightsEnd) {
+        Map<LocalDate, DailyOccupancy> deltas = new TreeMap<>();
+        addBooking(deltas, booking.getCheckInDate(), booking.getCheckOutDate(), previousStatus,
+                booking.getTotalAmount(), previousNightsEnd, -1);
+        addBooking(deltas, booking.getCheckInDate(), booking.getCheckOutDate(), booking.getStatus(),
+                booking.getTotalAmount(), countedNightsEnd(booking), 1);
+        deltas.values().removeIf(OccupancyRollupService::isZero);
+        apply(deltas);
+    }
+
+    /**
+     * Adjust revenue after a booking's total changed, e.g. at checkout
+     */
+    public void recordAmountChange(Booking booking, BigDecimal previousAmount) {
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            return;
+        }
+        BigDecimal difference = booking.getTotalAmount().subtract(previousAmount);
+        if (difference.signum() != 0) {
+            Map<LocalDate, DailyOccupancy> deltas = new TreeMap<>();
+            delta(deltas, booking.getCheckInDate()).setRevenue(difference);
+            apply(deltas);
+        }
+    }
+
+    /**
+     * Whether the rollup has never been built
+     */
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return dailyOccupancyRepository.count() == 0;
+    }
+
+    /**
+     * Recompute rollup rows for [from, to) from bookings, one month per transaction.
+     * Without bounds the whole booking history is rebuilt.
+     *
+     * @return number of days written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            Object[] bounds = bookingRepository.findStayDateBounds().get(0);
+            if (bounds[0] == null) {
+                return 0;
+            }
+            from = from != null ? from : (LocalDate) bounds[0];
+            to = to != null ? to : ((LocalDate) bounds[1]).plusDays(1);
+        }
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Rebuild end date must be after start date");
+        }
+
+        int written = 0;
+        for (LocalDate start = from; start.isBefore(to); ) {
+            LocalDate end = start.plusMonths(1).withDayOfMonth(1);
+            LocalDate chunkStart = start;
+            LocalDate chunkEnd = end.isBefore(to) ? end : to;
+            written += transactionTemplate.execute(status -> rebuildChunk(chunkStart, chunkEnd));
+            start = chunkEnd;
+        }
+        return written;
+    }
+
+    /**
+     * Lock every day of the chunk before reading its bookings. A zero delta creates a
+     * missing row and takes the same row lock a booking's delta takes, so deltas already
+     * in flight commit before the read (and are in it), and later ones wait and apply on
+     * top of the rebuilt rows. The rows are then overwritten in place rather than
+     * deleted, which would release that lock.
+     */
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            dailyOccupancyRepository.applyDelta(day, 0, 0, 0, 0, BigDecimal.ZERO);
+        }
+
+        Map<LocalDate, DailyOccupancy> days = new TreeMap<>();
+        for (Object[] row : bookingRepository.findRollupRows(from, to)) {
+            LocalDate checkIn = (LocalDate) row[0];
+            LocalDate checkOut = (LocalDate) row[1];
+            Booking.BookingStatus status = (Booking.BookingStatus) row[2];
+            BigDecimal amount = (BigDecimal) row[3];
+            LocalDate nightsEnd = countedNightsEnd(checkIn, checkOut, status, (LocalDate) row[4]);
+            addBooking(days, checkIn, checkOut, status, amount, nightsEnd, 1);
+        }
+
+        // Bookings that straddle the chunk contribute days outside it; keep only this chunk
+        days.keySet().removeIf(date -> !inRange(date, from, to));
+        for (DailyOccupancy row : dailyOccupancyRepository.findByStayDateBetweenOrderByStayDateAsc(from, to.minusDays(1))) {
+            DailyOccupancy computed = days.getOrDefault(row.getStayDate(), new DailyOccupancy(row.getStayDate()));
+            row.setRoomsSold(computed.getRoomsSold());
+            row.setArrivals(computed.getArrivals());
+            row.setDepartures(computed.getDepartures());
+            row.setCancellations(computed.getCancellations());
+            row.setRevenue(computed.getRevenue());
+        }
+        return days.size();
+    }
+
+    /**
+     * Add (sign 1) or remove (sign -1) one booking's contribution to every day it touches
+     */
+    private void addBooking(Map<LocalDate, DailyOccupancy> deltas, LocalDate checkIn, LocalDate checkOut,
+                            Booking.BookingStatus status, BigDecimal amount, LocalDate nightsEnd, int sign) {
+        DailyOccupancy arrival = delta(deltas, checkIn);
+        if (status == Booking.BookingStatus.CANCELLED) {
+            arrival.setCancellations(arrival.getCancellations() + sign);
+        } else {
+            arrival.setRevenue(arrival.getRevenue().add(amount.multiply(BigDecimal.valueOf(sign))));
+            DailyOccupancy departure = delta(deltas, checkOut);
+            departure.setDepartures(departure.getDepartures() + sign);
+        }
+        if (RoomInventoryService.holdsRoom(status)) {
+            arrival.setArrivals(arrival.getArrivals() + sign);
+        }
+        addNights(deltas, checkIn, nightsEnd, sign);
+    }
+
+    private void addNights(Map<LocalDate, DailyOccupancy> deltas, LocalDate from, LocalDate to, int sign) {
+        for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+            DailyOccupancy day = delta(deltas, night);
+            day.setRoomsSold(day.getRoomsSold() + sign);
+        }
+    }
+
+    private static boolean isZero(DailyOccupancy delta) {
+        return delta.getRoomsSold() == 0 && delta.getArrivals() == 0 && delta.getDepartures() == 0
+                && delta.getCancellations() == 0 && delta.getRevenue().signum() == 0;
+    }
+
+    private DailyOccupancy delta(Map<LocalDate, DailyOccupancy> deltas, LocalDate date) {
+        return deltas.computeIfAbsent(date, DailyOccupancy::new);
+    }
+
+    private boolean inRange(LocalDate date, LocalDate from, LocalDate to) {
+        return !date.isBefore(from) && date.isBefore(to);
+    }
+
+    /**
+     * Upsert deltas in date order so concurrent writers lock rows in the same order
+     */
+    private void apply(Map<LocalDate, DailyOccupancy> deltas) {
+        for (DailyOccupancy delta : deltas.values()) {
+            dailyOccupancyRepository.applyDelta(delta.getStayDate(), delta.getRoomsSold(), delta.getArrivals(),
+                    delta.getDepartures(), delta.getCancellations(), delta.getRevenue());
+        }
+    }
+}
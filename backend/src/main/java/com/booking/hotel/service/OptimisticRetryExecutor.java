@@ -0,0 +1,97 @@
+package com.booking.hotel.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs booking writes in their own transaction and, in optimistic mode, retries them
+ * with jittered exponential backoff when a version check fails.
+ *
+ * Conflicts, retries and exhausted attempts are published as Micrometer counters
+ * tagged with the operation name.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    public enum Mode {
+        OPTIMISTIC,
+        PESSIMISTIC
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.concurrency.mode:optimistic}")
+    private String mode;
+
+    @Value("${booking.concurrency.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${booking.concurrency.base-backoff-ms:20}")
+    private long baseBackoffMs;
+
+    @Value("${booking.concurrency.max-backoff-ms:500}")
+    private long maxBackoffMs;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Configured concurrency mode
+     */
+    public Mode getMode() {
+        return Mode.valueOf(mode.trim().toUpperCase());
+    }
+
+    /**
+     * Execute an action in a new transaction. When the caller already has a transaction
+     * the action simply joins it, since only the outermost transaction can be retried.
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        int attempts = getMode() == Mode.OPTIMISTIC ? Math.max(1, maxAttempts) : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter("booking.optimistic.conflicts", operation).increment();
+                if (attempt >= attempts) {
+                    counter("booking.optimistic.exhausted", operation).increment();
+                    throw new RuntimeException("Booking was modified concurrently, please try again", e);
+                }
+                counter("booking.optimistic.retries", operation).increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        // Full jitter: sleep a random time up to the exponential cap
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying booking update", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
@@ -0,0 +1,13 @@
+package com.booking.hotel.service;
+
+/**
+ * Thrown when the password hashing pool cannot admit more work; callers answer 429
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in attempts in progress, please try again shortly");
+    }
+}
@@ -0,0 +1,247 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory, day-granular availability index.
+ *
+ * Each room owns a bitset where bit {@code n} is set when the night starting on
+ * {@code baseDay + n} is taken by a BOOKED or CHECKED_IN booking. The index covers a
+ * rolling horizon starting yesterday and is rebuilt from the database at startup and
+ * once a day.
+ *
+ * Local writes update it after commit. Writes made by other instances are picked up by
+ * polling for bookings updated since the previous poll and reloading their rooms, so the
+ * index lags other instances by at most booking.availability.refresh-interval-ms. The
+ * database remains the source of truth: the index is a hint, callers confirm a "taken"
+ * answer against room_nights before rejecting, and the final write is still verified.
+ *
+ * Bitsets are never mutated in place. Writers copy, modify and publish a new bitset, so
+ * readers can query without locking.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${booking.availability.horizon-days:730}")
+    private int horizonDays;
+
+    @Value("${booking.availability.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot;
+
+    private volatile LocalDateTime lastRefresh;
+
+    public RoomAvailabilityIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Load the index once the application context is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild shortly after midnight so the horizon keeps rolling forward
+     */
+    @Scheduled(cron = "${booking.availability.rebuild-cron:0 5 0 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            lastRefresh = LocalDateTime.now();
+            long baseDay = LocalDate.now().minusDays(1).toEpochDay();
+            Snapshot fresh = new Snapshot(baseDay, baseDay + horizonDays);
+
+            List<Object[]> stays = bookingRepository.findActiveStays(LocalDate.ofEpochDay(baseDay));
+            for (Object[] stay : stays) {
+                Long roomId = (Long) stay[0];
+                LocalDate checkIn = (LocalDate) stay[1];
+                LocalDate checkOut = (LocalDate) stay[2];
+                BitSet bits = fresh.rooms.computeIfAbsent(roomId, id -> new BitSet(horizonDays));
+                fresh.range(checkIn, checkOut, bits::set);
+            }
+
+            this.snapshot = fresh;
+        }
+    }
+
+    /**
+     * Reload the rooms of bookings written since the previous poll, including those
+     * written by other instances. Polls overlap by booking.availability.refresh-overlap-ms
+     * to allow for clock skew between instances and transactions that commit late;
+     * reloading a room twice is harmless.
+     */
+    @Scheduled(fixedDelayString = "${booking.availability.refresh-interval-ms:5000}",
+               initialDelayString = "${booking.availability.refresh-interval-ms:5000}")
+    public void refreshChanged() {
+        LocalDateTime since = lastRefresh;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime polledAt = LocalDateTime.now();
+        List<Long> roomIds = bookingRepository.findRoomIdsChangedSince(since.minusNanos(refreshOverlapMs * 1_000_000));
+        if (!roomIds.isEmpty()) {
+            refreshRooms(roomIds);
+        }
+        lastRefresh = polledAt;
+    }
+
+    /**
+     * Replace the bitsets of the given rooms with their current bookings from the database
+     */
+    public void refreshRooms(Collection<Long> roomIds) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Map<Long, BitSet> reloaded = new HashMap<>();
+            for (Long roomId : roomIds) {
+                reloaded.put(roomId, new BitSet(horizonDays));
+            }
+            for (Object[] stay : bookingRepository.findActiveStaysOfRooms(roomIds, LocalDate.ofEpochDay(current.baseDay))) {
+                current.range((LocalDate) stay[1], (LocalDate) stay[2], reloaded.get((Long) stay[0])::set);
+            }
+            current.rooms.putAll(reloaded);
+        }
+    }
+
+    /**
+     * Whether the index is loaded and the whole [checkIn, checkOut) range lies inside the horizon
+     */
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        return current != null
+                && checkIn.toEpochDay() >= current.baseDay
+                && checkOut.toEpochDay() <= current.endDay;
+    }
+
+    /**
+     * Check whether a room is free for every night in [checkIn, checkOut).
+     * Only meaningful when {@link #covers(LocalDate, LocalDate)} is true.
+     */
+    public boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return true;
+        }
+        BitSet bits = current.rooms.get(roomId);
+        if (bits == null) {
+            return true;
+        }
+        int from = current.offset(checkIn);
+        int to = current.offset(checkOut);
+        int next = bits.nextSetBit(from);
+        return next < 0 || next >= to;
+    }
+
+    /**
+     * Keep only the rooms that are free for every night in [checkIn, checkOut)
+     */
+    public List<Room> filterAvailable(List<Room> rooms, LocalDate checkIn, LocalDate checkOut) {
+        return rooms.stream()
+                .filter(room -> isAvailable(room.getId(), checkIn, checkOut))
+                .toList();
+    }
+
+    /**
+     * Mark the nights of a stay as taken once the surrounding transaction commits
+     */
+    public void occupyAfterCommit(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> update(roomId, checkIn, checkOut, true));
+    }
+
+    /**
+     * Free the nights of a stay once the surrounding transaction commits
+     */
+    public void releaseAfterCommit(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> update(roomId, checkIn, checkOut, false));
+    }
+
+    private void update(Long roomId, LocalDate checkIn, LocalDate checkOut, boolean occupied) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            BitSet existing = current.rooms.get(roomId);
+            BitSet bits = existing != null ? (BitSet) existing.clone() : new BitSet(horizonDays);
+            current.range(checkIn, checkOut, (from, to) -> bits.set(from, to, occupied));
+            current.rooms.put(roomId, bits);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Snapshot {
+        private final long baseDay;
+        private final long endDay;
+        private final Map<Long, BitSet> rooms = new ConcurrentHashMap<>();
+
+        private Snapshot(long baseDay, long endDay) {
+            this.baseDay = baseDay;
+            this.endDay = endDay;
+        }
+
+        private int offset(LocalDate date) {
+            return (int) (date.toEpochDay() - baseDay);
+        }
+
+        /**
+         * Apply an action to the part of [checkIn, checkOut) that falls inside the horizon
+         */
+        private void range(LocalDate checkIn, LocalDate checkOut, RangeAction action) {
+            long from = Math.max(checkIn.toEpochDay(), baseDay);
+            long to = Math.min(checkOut.toEpochDay(), endDay);
+            if (from < to) {
+                action.apply((int) (from - baseDay), (int) (to - baseDay));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        void apply(int fromIndex, int toIndex);
+    }
+}
@@ -0,0 +1,146 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.RoomNight;
+import com.booking.hotel.repository.RoomNightRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the room-night inventory. Every change to the nights a booking holds goes
+ * through here so the room_nights table and the availability index stay in step.
+ */
+@Service
+@Transactional
+public class RoomInventoryService {
+
+    private final RoomNightRepository roomNightRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoomInventoryService(RoomNightRepository roomNightRepository, RoomAvailabilityIndex availabilityIndex,
+                                PlatformTransactionManager transactionManager) {
+        this.roomNightRepository = roomNightRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Whether a booking in this status holds its room
+     */
+    public static boolean holdsRoom(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.BOOKED || status == Booking.BookingStatus.CHECKED_IN;
+    }
+
+    /**
+     * Insert one row per night of the booking. Fails fast when another booking
+     * already holds any of the nights.
+     */
+    public void reserve(Booking booking) {
+        reserveAll(List.of(booking));
+    }
+
+    /**
+     * Insert the nights of several bookings in one flush. Rows are written in
+     * (room, night) order so concurrent batches take index locks in the same order.
+     */
+    public void reserveAll(List<Booking> bookings) {
+        List<RoomNight> nights = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate());
+                 night = night.plusDays(1)) {
+                nights.add(new RoomNight(booking.getRoom(), night, booking));
+            }
+        }
+        nights.sort(Comparator.comparing((RoomNight night) -> night.getRoom().getId())
+                .thenComparing(RoomNight::getNight));
+
+        try {
+            roomNightRepository.saveAll(nights);
+            roomNightRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            String rooms = bookings.stream()
+                    .map(booking -> booking.getRoom().getRoomNumber())
+                    .distinct()
+                    .collect(Collectors.joining(", "));
+            throw new RuntimeException(bookings.size() == 1
+                    ? "Room " + rooms + " is not available for the selected dates"
+                    : "One or more of rooms " + rooms + " are not available for the selected dates");
+        }
+
+        for (Booking booking : bookings) {
+            availabilityIndex.occupyAfterCommit(booking.getRoom().getId(),
+                                                booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+    }
+
+    /**
+     * Release the nights of a booking from today onwards and record the first night given
+     * up on the booking. Past nights are left for the nightly prune.
+     */
+    public void release(Booking booking) {
+        LocalDate today = LocalDate.now();
+        roomNightRepository.releaseNights(booking, today);
+
+        LocalDate from = booking.getCheckInDate().isAfter(today) ? booking.getCheckInDate() : today;
+        booking.setNightsReleasedFrom(from.isBefore(booking.getCheckOutDate()) ? from : booking.getCheckOutDate());
+        availabilityIndex.releaseAfterCommit(booking.getRoom().getId(), from, booking.getCheckOutDate());
+    }
+
+    /**
+     * Reserve or release nights to match a status transition
+     */
+    public void applyStatusChange(Booking booking, Booking.BookingStatus previousStatus) {
+        boolean held = holdsRoom(previousStatus);
+        boolean holds = holdsRoom(booking.getStatus());
+        if (held && !holds) {
+            release(booking);
+        } else if (!held && holds) {
+            // A release keeps the booking's past nights; drop them so they are not inserted twice
+            roomNightRepository.releaseNights(booking, booking.getCheckInDate());
+            booking.setNightsReleasedFrom(null);
+            reserve(booking);
+        }
+    }
+
+    /**
+     * Drop nights that ended before yesterday; they no longer matter for conflicts
+     */
+    @Scheduled(cron = "${booking.inventory.prune-cron:0 15 0 * * *}")
+    public void prunePastNights() {
+        roomNightRepository.deleteNightsBefore(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Create inventory rows for active bookings that do not have any yet, e.g. bookings
+     * written before room_nights existed or inserted directly by the seeder. Each booking
+     * is reserved in its own transaction so one legacy overlap does not block the rest.
+     *
+     * @return number of bookings that could not be reserved
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfillMissingNights() {
+        List<Booking> bookings = roomNightRepository.findActiveBookingsWithoutNights(LocalDate.now());
+        int conflicts = 0;
+        for (Booking booking : bookings) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reserve(booking));
+            } catch (RuntimeException e) {
+                conflicts++;
+                System.out.println("Could not reserve nights for booking " + booking.getId() + ": " + e.getMessage());
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,247 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.DispatchTaskDTO;
+import com.booking.hotel.dto.RoomServiceResponseDTO;
+import com.booking.hotel.entity.RoomService;
+import com.booking.hotel.event.RoomServiceChangedEvent;
+import com.booking.hotel.repository.RoomServiceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory queue of pending room service tasks, one ordered set per service type.
+ *
+ * A task is due its type's target response time after it was requested; claims hand out
+ * the task that is due first among the requested types, so an old towel change still
+ * overtakes a fresh food order once it is overdue. Removing a task from its set is the
+ * in-memory claim: only one caller can remove it. The database stays the durable log —
+ * the claim is confirmed by a conditional update there, and the queue is rebuilt from
+ * pending rows at startup and kept in step by room service change events.
+ *
+ * Changes made on other instances are picked up by polling rows updated since the
+ * previous poll, every room-service.dispatch.refresh-interval-ms. A task deleted on
+ * another instance cannot be seen that way; it stays queued until a claim fails its
+ * conditional update and drops it.
+ */
+@Component
+public class RoomServiceDispatcher {
+
+    private static final Comparator<Task> BY_AGE =
+            Comparator.comparing(Task::requestedAt).thenComparing(Task::id);
+
+    private final RoomServiceRepository roomServiceRepository;
+
+    private final Map<String, NavigableSet<Task>> byType = new ConcurrentHashMap<>();
+    private final Map<Long, Task> byId = new ConcurrentHashMap<>();
+
+    private final Object changeLock = new Object();
+
+    private List<RoomServiceChangedEvent> changedDuringLoad;
+
+    private volatile LocalDateTime lastRefresh;
+
+    @Value("${room-service.dispatch.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    @Value("${room-service.dispatch.default-target-minutes:30}")
+    private long defaultTargetMinutes;
+
+    @Value("#{${room-service.dispatch.target-minutes:{:}}}")
+    private Map<String, Long> targetMinutes = new LinkedHashMap<>();
+
+    public RoomServiceDispatcher(RoomServiceRepository roomServiceRepository) {
+        this.roomServiceRepository = roomServiceRepository;
+    }
+
+    /**
+     * A pending task as held in the queue
+     */
+    public record Task(long id, String roomNumber, String serviceType, String description,
+                       String guestName, LocalDateTime requestedAt) {
+    }
+
+    /**
+     * Load every pending service once the application context is ready. Changes
+     * committed while the rows are read are held back and applied after them, so a
+     * task claimed meanwhile is not queued again from the older read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        synchronized (changeLock) {
+            changedDuringLoad = new ArrayList<>();
+        }
+        List<RoomService> pending = null;
+        try {
+            pending = roomServiceRepository.findByStatusOrderByRequestedAtDesc(RoomService.ServiceStatus.PENDING);
+        } finally {
+            synchronized (changeLock) {
+                if (pending != null) {
+                    for (RoomService roomService : pending) {
+                        offer(new RoomServiceResponseDTO(roomService));
+                    }
+                    lastRefresh = startedAt;
+                }
+                for (RoomServiceChangedEvent event : changedDuringLoad) {
+                    apply(event.getRoomService(), event.isDeleted());
+                }
+                changedDuringLoad = null;
+            }
+        }
+        System.out.println("Room service dispatch queue loaded with " + pending.size() + " tasks");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomServiceChanged(RoomServiceChangedEvent event) {
+        synchronized (changeLock) {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(event);
+                return;
+            }
+            apply(event.getRoomService(), event.isDeleted());
+        }
+    }
+
+    /**
+     * Apply room services written since the previous poll, including those written by
+     * other instances. Polls overlap by room-service.dispatch.refresh-overlap-ms to
+     * allow for clock skew between instances and transactions that commit late.
+     */
+    @Scheduled(fixedDelayString = "${room-service.dispatch.refresh-interval-ms:5000}",
+               initialDelayString = "${room-service.dispatch.refresh-interval-ms:5000}")
+    public void refreshChanged() {
+        LocalDateTime since = lastRefresh;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime polledAt = LocalDateTime.now();
+        List<RoomService> changed = roomServiceRepository.findChangedSince(since.minusNanos(refreshOverlapMs * 1_000_000));
+        synchronized (changeLock) {
+            for (RoomService roomService : changed) {
+                apply(new RoomServiceResponseDTO(roomService), false);
+            }
+        }
+        lastRefresh = polledAt;
+    }
+
+    /**
+     * Take the task due first among the given service types, or any type when none are
+     * given. Returns null when there is nothing to do.
+     */
+    public Task poll(Collection<String> serviceTypes) {
+        while (true) {
+            Task best = null;
+            for (Map.Entry<String, NavigableSet<Task>> entry : byType.entrySet()) {
+                if (serviceTypes != null && !serviceTypes.isEmpty() && !serviceTypes.contains(entry.getKey())) {
+                    continue;
+                }
+                Task head = first(entry.getValue());
+                if (head != null && (best == null || dueAt(head).isBefore(dueAt(best)))) {
+                    best = head;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            if (byType.get(best.serviceType()).remove(best)) {
+                byId.remove(best.id(), best);
+                return best;
+            }
+            // Another caller took it first: look again
+        }
+    }
+
+    /**
+     * Put a polled task back, e.g. when its claim could not be committed
+     */
+    public void requeue(Task task) {
+        add(task);
+    }
+
+    /**
+     * Pending tasks of the given types in the order they would be handed out
+     */
+    public List<DispatchTaskDTO> getQueue(Collection<String> serviceTypes) {
+        List<Task> tasks = new ArrayList<>();
+        for (Map.Entry<String, NavigableSet<Task>> entry : byType.entrySet()) {
+            if (serviceTypes == null || serviceTypes.isEmpty() || serviceTypes.contains(entry.getKey())) {
+                tasks.addAll(entry.getValue());
+            }
+        }
+        tasks.sort(Comparator.comparing(this::dueAt).thenComparing(Task::id));
+        return tasks.stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * Number of pending tasks
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * When a task should be done by
+     */
+    public LocalDateTime dueAt(Task task) {
+        return task.requestedAt().plusMinutes(targetMinutes.getOrDefault(task.serviceType(), defaultTargetMinutes));
+    }
+
+    public DispatchTaskDTO toDTO(Task task) {
+        return new DispatchTaskDTO(task.id(), task.roomNumber(), task.serviceType(), task.description(),
+                task.guestName(), task.requestedAt(), dueAt(task));
+    }
+
+    private void apply(RoomServiceResponseDTO roomService, boolean deleted) {
+        if (!deleted && RoomService.ServiceStatus.PENDING.name().equals(roomService.getStatus())) {
+            offer(roomService);
+        } else {
+            remove(roomService.getId());
+        }
+    }
+
+    private void offer(RoomServiceResponseDTO roomService) {
+        LocalDateTime requestedAt = roomService.getRequestedAt() != null
+                ? roomService.getRequestedAt() : LocalDateTime.now();
+        add(new Task(roomService.getId(), roomService.getRoomNumber(), roomService.getServiceType(),
+                roomService.getDescription(), roomService.getGuestName(), requestedAt));
+    }
+
+    private void add(Task task) {
+        Task previous = byId.put(task.id(), task);
+        if (previous != null && !previous.equals(task)) {
+            byType.get(previous.serviceType()).remove(previous);
+        }
+        byType.computeIfAbsent(task.serviceType(), type -> new ConcurrentSkipListSet<>(BY_AGE)).add(task);
+    }
+
+    private void remove(Long id) {
+        Task task = byId.remove(id);
+        if (task != null) {
+            byType.get(task.serviceType()).remove(task);
+        }
+    }
+
+    /**
+     * Oldest task of a set, tolerating concurrent removals
+     */
+    private static Task first(NavigableSet<Task> tasks) {
+        Iterator<Task> iterator = tasks.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -1,16 +1,23 @@
 package com.booking.hotel.service;
 
+import com.booking.hotel.dto.DispatchTaskDTO;
 import com.booking.hotel.dto.RoomServiceRequestDTO;
 import com.booking.hotel.dto.RoomServiceResponseDTO;
 import com.booking.hotel.entity.RoomService;
 import com.booking.hotel.entity.Booking;
+import com.booking.hotel.event.RoomServiceChangedEvent;
 import com.booking.hotel.repository.RoomServiceRepository;
 import com.booking.hotel.repository.BookingRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,6 +31,15 @@ public class RoomServiceService {
     
     @Autowired
     private BookingRepository bookingRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FolioService folioService;
+
+    @Autowired
+    private RoomServiceDispatcher dispatcher;
     
     /**
      * Create a new room service request
@@ -42,13 +58,16 @@ public class RoomServiceService {
         roomService.setDescription(requestDTO.getDescription());
         roomService.setStatus(RoomService.ServiceStatus.PENDING);
         
-        // Set guest name from booking if available
+        // Bill the service to this stay and set guest name from booking if available
         if (booking != null) {
+            roomService.setBooking(booking);
             roomService.setGuestName(booking.getFirstName() + " " + booking.getLastName());
         }
         
         RoomService savedRoomService = roomServiceRepository.save(roomService);
-        return new RoomServiceResponseDTO(savedRoomService);
+        RoomServiceResponseDTO response = new RoomServiceResponseDTO(savedRoomService);
+        eventPublisher.publishEvent(new RoomServiceChangedEvent(response, false));
+        return response;
     }
     
     /**
@@ -81,14 +100,29 @@ public class RoomServiceService {
         
         try {
             RoomService.ServiceStatus newStatus = RoomService.ServiceStatus.valueOf(status.toUpperCase());
+            RoomService.ServiceStatus previousStatus = roomService.getStatus();
             roomService.setStatus(newStatus);
             
+            if (newStatus == RoomService.ServiceStatus.PENDING) {
+                roomService.setClaimedBy(null);
+                roomService.setClaimedAt(null);
+            }
+            
             if (newStatus == RoomService.ServiceStatus.COMPLETED) {
                 roomService.setCompletedAt(LocalDateTime.now());
             }
             
             RoomService updatedRoomService = roomServiceRepository.save(roomService);
-            return new RoomServiceResponseDTO(updatedRoomService);
+
+            // Bill completed services to the guest's folio, and take them off again if reopened
+            if (newStatus == RoomService.ServiceStatus.COMPLETED && previousStatus != newStatus) {
+                folioService.postRoomService(updatedRoomService);
+            } else if (previousStatus == RoomService.ServiceStatus.COMPLETED && previousStatus != newStatus) {
+                folioService.reverseRoomService(updatedRoomService.getId());
+            }
+            RoomServiceResponseDTO response = new RoomServiceResponseDTO(updatedRoomService);
+            eventPublisher.publishEvent(new RoomServiceChangedEvent(response, false));
+            return response;
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + status + ". Valid statuses are: PENDING, IN_PROGRESS, COMPLETED, CANCELLED");
         }
@@ -98,10 +132,13 @@ public class RoomServiceService {
      * Delete room service request
      */
     public void deleteRoomService(Long id) {
-        if (!roomServiceRepository.existsById(id)) {
-            throw new EntityNotFoundException("Room service request not found with ID: " + id);
+        RoomService roomService = roomServiceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + id));
+        if (roomService.getStatus() == RoomService.ServiceStatus.COMPLETED) {
+            folioService.reverseRoomService(roomService.getId());
         }
-        roomServiceRepository.deleteById(id);
+        roomServiceRepository.delete(roomService);
+        eventPublisher.publishEvent(new RoomServiceChangedEvent(new RoomServiceResponseDTO(roomService), true));
     }
     
     /**
@@ -115,6 +152,101 @@ public class RoomServiceService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Claim the task due first among the given service types for a staff member.
+     * Returns null when the queue has nothing for them.
+     */
+    public RoomServiceResponseDTO claimNext(String staff, List<String> serviceTypes) {
+        if (staff == null || staff.isBlank()) {
+            throw new IllegalArgumentException("Staff name is required to claim a room service");
+        }
+        RoomServiceDispatcher.Task task;
+        while ((task = dispatcher.poll(serviceTypes)) != null) {
+            // The queue can be behind the database, e.g. after a claim on another instance
+            if (roomServiceRepository.claim(task.id(), staff, LocalDateTime.now()) == 0) {
+                continue;
+            }
+            RoomServiceDispatcher.Task claimed = task;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        dispatcher.requeue(claimed);
+                    }
+                }
+            });
+            RoomService roomService = roomServiceRepository.findById(task.id())
+                    .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + claimed.id()));
+            RoomServiceResponseDTO response = new RoomServiceResponseDTO(roomService);
+            eventPublisher.publishEvent(new RoomServiceChangedEvent(response, false));
+            return response;
+        }
+        return null;
+    }
+    
+    /**
+     * Complete a room service the staff member claimed
+     */
+    public RoomServiceResponseDTO completeClaim(Long id, String staff) {
+        if (roomServiceRepository.completeClaim(id, staff, LocalDateTime.now()) == 0) {
+            RoomService roomService = roomServiceRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + id));
+            throw new IllegalArgumentException("Room service " + id + " is " + roomService.getStatus()
+                    + " and not claimed by " + staff);
+        }
+        RoomService roomService = roomServiceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + id));
+        folioService.postRoomService(roomService);
+        RoomServiceResponseDTO response = new RoomServiceResponseDTO(roomService);
+        eventPublisher.publishEvent(new RoomServiceChangedEvent(response, false));
+        return response;
+    }
+    
+    /**
+     * Hand a claimed room service back to the dispatch queue
+     */
+    public RoomServiceResponseDTO releaseClaim(Long id, String staff) {
+        if (roomServiceRepository.releaseClaim(id, staff, LocalDateTime.now()) == 0) {
+            RoomService roomService = roomServiceRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + id));
+            throw new IllegalArgumentException("Room service " + id + " is " + roomService.getStatus()
+                    + " and not claimed by " + staff);
+        }
+        RoomService roomService = roomServiceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Room service request not found with ID: " + id));
+        RoomServiceResponseDTO response = new RoomServiceResponseDTO(roomService);
+        eventPublisher.publishEvent(new RoomServiceChangedEvent(response, false));
+        return response;
+    }
+    
+    /**
+     * Pending room services in dispatch order, served from memory without a transaction
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DispatchTaskDTO> getDispatchQueue(List<String> serviceTypes) {
+        return dispatcher.getQueue(serviceTypes);
+    }
+    
+    /**
+     * Get room services billed to a booking
+     */
+    @Transactional(readOnly = true)
+    public List<RoomServiceResponseDTO> getRoomServicesByBooking(Long bookingId) {
+        List<RoomService> roomServices = roomServiceRepository.findByBookingId(bookingId);
+        return roomServices.stream()
+                .map(RoomServiceResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Link room services created before they carried a booking
+     *
+     * @return number of services linked
+     */
+    public int backfillBookingLinks() {
+        return roomServiceRepository.backfillBookingLinks();
+    }
+    
     /**
      * Get room services by status
      */
@@ -147,7 +279,9 @@ public class RoomServiceService {
      */
     @Transactional(readOnly = true)
     public List<RoomServiceResponseDTO> getTodayRoomServices() {
-        List<RoomService> roomServices = roomServiceRepository.findTodayServices();
+        LocalDate today = LocalDate.now();
+        List<RoomService> roomServices = roomServiceRepository.findRequestedBetween(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay());
         return roomServices.stream()
                 .map(RoomServiceResponseDTO::new)
                 .collect(Collectors.toList());
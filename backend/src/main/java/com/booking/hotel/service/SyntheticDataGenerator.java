@@ -0,0 +1,430 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.SyntheticDataRequestDTO;
+import com.booking.hotel.entity.Amenity;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.entity.TimeOrderedIdGenerator;
+import com.booking.hotel.repository.AmenityRepository;
+import com.booking.hotel.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Generates large, internally consistent datasets for load tests and benchmarks: rooms
+ * with amenities, years of booking history plus future reservations, and the room
+ * services of past stays.
+ *
+ * Stays are laid out room by room along the calendar, so a room's non-cancelled
+ * bookings never overlap. On each free night a stay starts with the probability that
+ * makes the expected occupancy follow the configured curve: a base rate, a yearly
+ * season peaking in mid-July and an uplift for Friday and Saturday nights. Cancelled
+ * bookings leave their nights free for the next stay.
+ *
+ * Rows are written with batched JDBC inserts, one transaction per batch, so historical
+ * timestamps are kept as generated and millions of rows can be written in minutes.
+ * Room nights, the occupancy rollup and the availability and search indexes are
+ * brought up to date afterwards. The same seed always produces the same dataset.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final int PEAK_DAY_OF_YEAR = 196;
+    private static final int MAX_STAY_NIGHTS = 28;
+    private static final int ROOMS_PER_FLOOR = 50;
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Wei", "Yuki", "Aarav", "Fatima", "Mateo", "Sofia", "Olu", "Amara", "Lukas", "Ingrid"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Chen", "Tanaka", "Sharma", "Khan", "Silva", "Rossi", "Okafor", "Mensah", "Muller", "Larsen"
+    };
+
+    private static final String[] PRONOUNS = {"he/him", "she/her", "they/them"};
+
+    private static final String[] SERVICE_TYPES = {
+        "FOOD_DELIVERY", "MINI_BAR", "TOWEL_CHANGE", "AMENITIES", "CLEANING", "LAUNDRY", "MAINTENANCE"
+    };
+
+    private static final BigDecimal[] SERVICE_AMOUNTS = {
+        new BigDecimal("45.00"), new BigDecimal("25.00"), new BigDecimal("5.00"), new BigDecimal("10.00"),
+        new BigDecimal("30.00"), new BigDecimal("35.00"), new BigDecimal("15.00")
+    };
+
+    private static final String[][] DEFAULT_AMENITIES = {
+        {"WiFi", "Free wireless internet access", "wifi"},
+        {"Air Conditioning", "Climate control with air conditioning", "ac"},
+        {"TV", "Flat screen television with cable channels", "tv"},
+        {"Mini Bar", "In-room mini refrigerator with beverages and snacks", "minibar"},
+        {"Safe", "In-room safety deposit box", "safe"},
+        {"Balcony", "Private balcony with outdoor seating", "balcony"},
+        {"City View", "Room with city skyline view", "city-view"},
+        {"Kitchenette", "Small kitchen area with basic cooking facilities", "kitchenette"}
+    };
+
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (id, first_name, last_name, pronouns, " +
+            "check_in_date, check_out_date, adult_capacity, children_capacity, total_amount, status, room_id, " +
+            "version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_ROOM_NIGHT = "INSERT INTO room_nights (id, room_id, night, booking_id) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_ROOM_SERVICE = "INSERT INTO room_services (id, room_number, service_type, " +
+            "amount, description, status, requested_at, updated_at, completed_at, guest_name, booking_id) " +
+            "VALUES (?, ?, ?, ?, ?, 'COMPLETED', ?, ?, ?, ?, ?)";
+
+    private final RoomRepository roomRepository;
+    private final AmenityRepository amenityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final OccupancyRollupService occupancyRollup;
+    private final BookingSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.jpa.properties.booking.id.node:0}")
+    private long idNode;
+
+    @Value("${booking.generator.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${booking.generator.rooms:200}")
+    private int defaultRooms;
+
+    @Value("${booking.generator.amenities-per-room:4}")
+    private int defaultAmenitiesPerRoom;
+
+    @Value("${booking.generator.years-of-history:3}")
+    private int defaultYearsOfHistory;
+
+    @Value("${booking.generator.future-days:180}")
+    private int defaultFutureDays;
+
+    @Value("${booking.generator.base-occupancy:0.70}")
+    private double defaultBaseOccupancy;
+
+    @Value("${booking.generator.seasonal-amplitude:0.15}")
+    private double defaultSeasonalAmplitude;
+
+    @Value("${booking.generator.weekend-uplift:0.10}")
+    private double defaultWeekendUplift;
+
+    @Value("${booking.generator.mean-stay-nights:2.5}")
+    private double defaultMeanStayNights;
+
+    @Value("${booking.generator.cancellation-ratio:0.08}")
+    private double defaultCancellationRatio;
+
+    @Value("${booking.generator.room-services-per-night:0.3}")
+    private double defaultRoomServicesPerNight;
+
+    @Value("${booking.generator.seed:42}")
+    private long defaultSeed;
+
+    public SyntheticDataGenerator(RoomRepository roomRepository, AmenityRepository amenityRepository,
+                                  JdbcTemplate jdbcTemplate, RoomAvailabilityIndex availabilityIndex,
+                                  OccupancyRollupService occupancyRollup, BookingSearchIndex searchIndex,
+                                  PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.amenityRepository = amenityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.availabilityIndex = availabilityIndex;
+        this.occupancyRollup = occupancyRollup;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Generation parameters with configured defaults filled in
+     */
+    private record Settings(int rooms, int amenitiesPerRoom, int yearsOfHistory, int futureDays,
+                            double baseOccupancy, double seasonalAmplitude, double weekendUplift,
+                            double meanStayNights, double cancellationRatio, double roomServicesPerNight,
+                            long seed) {
+    }
+
+    /**
+     * Rows waiting for the next batched insert
+     */
+    private static final class Batch {
+        final List<Object[]> bookings = new ArrayList<>();
+        final List<Object[]> roomNights = new ArrayList<>();
+        final List<Object[]> roomServices = new ArrayList<>();
+    }
+
+    /**
+     * Generate a dataset into the current database next to any existing data. New rooms
+     * are created for it, so generated stays never collide with existing bookings.
+     *
+     * @return counts of the rows written
+     */
+    public Map<String, Long> generate(SyntheticDataRequestDTO request) {
+        Settings settings = resolve(request != null ? request : new SyntheticDataRequestDTO());
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long started = System.currentTimeMillis();
+
+        List<Room> rooms = transactionTemplate.execute(status -> createRooms(settings, random));
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(settings.yearsOfHistory());
+        LocalDate to = today.plusDays(settings.futureDays());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("rooms", (long) rooms.size());
+        counts.put("bookings", 0L);
+        counts.put("cancelledBookings", 0L);
+        counts.put("roomNights", 0L);
+        counts.put("roomServices", 0L);
+
+        Batch batch = new Batch();
+        for (Room room : rooms) {
+            generateStays(room, from, to, today, now, settings, random, batch, counts);
+            if (batch.bookings.size() >= batchSize) {
+                write(batch);
+                System.out.println("Generated " + counts.get("bookings") + " bookings");
+            }
+        }
+        write(batch);
+
+        // Rows were written behind Hibernate's back, so refresh everything derived from them
+        availabilityIndex.rebuild();
+        occupancyRollup.rebuild(null, null);
+        searchIndex.rebuild();
+
+        counts.put("millis", System.currentTimeMillis() - started);
+        System.out.println("Synthetic data generated: " + counts);
+        return counts;
+    }
+
+    private Settings resolve(SyntheticDataRequestDTO request) {
+        Settings settings = new Settings(
+                request.getRooms() != null ? request.getRooms() : defaultRooms,
+                request.getAmenitiesPerRoom() != null ? request.getAmenitiesPerRoom() : defaultAmenitiesPerRoom,
+                request.getYearsOfHistory() != null ? request.getYearsOfHistory() : defaultYearsOfHistory,
+                request.getFutureDays() != null ? request.getFutureDays() : defaultFutureDays,
+                request.getBaseOccupancy() != null ? request.getBaseOccupancy() : defaultBaseOccupancy,
+                request.getSeasonalAmplitude() != null ? request.getSeasonalAmplitude() : defaultSeasonalAmplitude,
+                request.getWeekendUplift() != null ? request.getWeekendUplift() : defaultWeekendUplift,
+                request.getMeanStayNights() != null ? request.getMeanStayNights() : defaultMeanStayNights,
+                request.getCancellationRatio() != null ? request.getCancellationRatio() : defaultCancellationRatio,
+                request.getRoomServicesPerNight() != null
+                        ? request.getRoomServicesPerNight() : defaultRoomServicesPerNight,
+                request.getSeed() != null ? request.getSeed() : defaultSeed);
+
+        if (settings.rooms() < 1 || settings.rooms() > 100000) {
+            throw new IllegalArgumentException("Rooms must be between 1 and 100000");
+        }
+        if (settings.amenitiesPerRoom() < 0 || settings.yearsOfHistory() < 0 || settings.futureDays() < 0) {
+            throw new IllegalArgumentException("Amenities per room, years of history and future days must not be negative");
+        }
+        if (settings.baseOccupancy() <= 0 || settings.baseOccupancy() >= 1) {
+            throw new IllegalArgumentException("Base occupancy must be between 0 and 1");
+        }
+        if (settings.meanStayNights() < 1) {
+            throw new IllegalArgumentException("Mean stay must be at least 1 night");
+        }
+        if (settings.cancellationRatio() < 0 || settings.cancellationRatio() >= 1) {
+            throw new IllegalArgumentException("Cancellation ratio must be at least 0 and below 1");
+        }
+        if (settings.roomServicesPerNight() < 0) {
+            throw new IllegalArgumentException("Room services per night must not be negative");
+        }
+        return settings;
+    }
+
+    private List<Room> createRooms(Settings settings, SplittableRandom random) {
+        List<Amenity> amenities = amenityRepository.findAll();
+        if (amenities.isEmpty()) {
+            for (String[] amenity : DEFAULT_AMENITIES) {
+                amenities.add(new Amenity(amenity[0], amenity[1], amenity[2]));
+            }
+            amenities = amenityRepository.saveAll(amenities);
+        }
+
+        Set<String> taken = roomRepository.findAll().stream()
+                .map(Room::getRoomNumber)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Room> rooms = new ArrayList<>();
+        for (int index = 0; rooms.size() < settings.rooms(); index++) {
+            String roomNumber = String.valueOf((index / ROOMS_PER_FLOOR + 1) * 100 + index % ROOMS_PER_FLOOR + 1);
+            if (!taken.add(roomNumber)) {
+                continue;
+            }
+
+            double type = random.nextDouble();
+            Room room = type < 0.6
+                    ? new Room(roomNumber, Room.RoomType.STANDARD, new BigDecimal("150.00"), 2, 1,
+                               "Standard room", true)
+                    : type < 0.9
+                    ? new Room(roomNumber, Room.RoomType.DELUXE, new BigDecimal("250.00"), 2, 2,
+                               "Deluxe room", true)
+                    : new Room(roomNumber, Room.RoomType.SUITE, new BigDecimal("450.00"), 4, 2,
+                               "Suite", true);
+
+            int count = Math.min(settings.amenitiesPerRoom(), amenities.size());
+            List<Amenity> pool = new ArrayList<>(amenities);
+            for (int i = 0; i < count; i++) {
+                // Room owns the join table; skip addAmenity so amenities' room sets stay unloaded
+                room.getAmenities().add(pool.remove(random.nextInt(pool.size())));
+            }
+            rooms.add(room);
+        }
+        return roomRepository.saveAll(rooms);
+    }
+
+    /**
+     * Lay out one room's stays from {@code from} until {@code to}
+     */
+    private void generateStays(Room room, LocalDate from, LocalDate to, LocalDate today, LocalDateTime now,
+                               Settings settings, SplittableRandom random, Batch batch, Map<String, Long> counts) {
+        LocalDate day = from;
+        while (day.isBefore(to)) {
+            // Starting on a free night with probability 1 / (1 + gap) leaves gaps of the
+            // expected length, and stay / (stay + gap) is the target occupancy
+            double occupancy = occupancy(day, settings);
+            double gap = settings.meanStayNights() * (1 - occupancy) / occupancy;
+            if (random.nextDouble() * (1 + gap) >= 1) {
+                day = day.plusDays(1);
+                continue;
+            }
+
+            int nights = stayLength(settings, random);
+            LocalDate checkOut = day.plusDays(nights);
+            boolean cancelled = random.nextDouble() < settings.cancellationRatio();
+            Booking.BookingStatus status = cancelled ? Booking.BookingStatus.CANCELLED
+                    : checkOut.isBefore(today) ? Booking.BookingStatus.CHECKED_OUT
+                    : !day.isAfter(today) ? Booking.BookingStatus.CHECKED_IN
+                    : Booking.BookingStatus.BOOKED;
+
+            long bookingId = TimeOrderedIdGenerator.nextId(idNode);
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDateTime createdAt = day.atTime(random.nextInt(24), random.nextInt(60))
+                    .minusDays(1 + random.nextInt(120));
+            if (createdAt.isAfter(now)) {
+                createdAt = now;
+            }
+            LocalDateTime updatedAt = switch (status) {
+                case CHECKED_OUT -> checkOut.atTime(11, 0);
+                case CHECKED_IN -> day.atTime(15, 0).isAfter(now) ? now : day.atTime(15, 0);
+                default -> createdAt;
+            };
+
+            batch.bookings.add(new Object[] {
+                bookingId, firstName, lastName, PRONOUNS[random.nextInt(PRONOUNS.length)], day, checkOut,
+                1 + random.nextInt(room.getAdultCapacity()), random.nextInt(room.getChildrenCapacity() + 1),
+                room.getPrice().multiply(BigDecimal.valueOf(nights)), status.name(), room.getId(),
+                createdAt, updatedAt
+            });
+            counts.merge("bookings", 1L, Long::sum);
+
+            if (cancelled) {
+                counts.merge("cancelledBookings", 1L, Long::sum);
+                continue; // The nights are free again
+            }
+
+            if (RoomInventoryService.holdsRoom(status)) {
+                // Nights before yesterday would be pruned straight away
+                for (LocalDate night = day; night.isBefore(checkOut); night = night.plusDays(1)) {
+                    if (!night.isBefore(today.minusDays(1))) {
+                        batch.roomNights.add(new Object[] {
+                            TimeOrderedIdGenerator.nextId(idNode), room.getId(), night, bookingId
+                        });
+                        counts.merge("roomNights", 1L, Long::sum);
+                    }
+                }
+            }
+            if (status != Booking.BookingStatus.BOOKED) {
+                addRoomServices(room, bookingId, firstName + " " + lastName, day, checkOut, now, settings,
+                                random, batch, counts);
+            }
+            day = checkOut;
+        }
+    }
+
+    private void addRoomServices(Room room, long bookingId, String guestName, LocalDate checkIn, LocalDate checkOut,
+                                 LocalDateTime now, Settings settings, SplittableRandom random, Batch batch,
+                                 Map<String, Long> counts) {
+        double perNight = settings.roomServicesPerNight();
+        for (LocalDate day = checkIn; day.isBefore(checkOut); day = day.plusDays(1)) {
+            int services = (int) perNight + (random.nextDouble() < perNight - (int) perNight ? 1 : 0);
+            for (int i = 0; i < services; i++) {
+                LocalDateTime requestedAt = day.atTime(8 + random.nextInt(14), random.nextInt(60));
+                LocalDateTime completedAt = requestedAt.plusMinutes(10 + random.nextInt(80));
+                if (completedAt.isAfter(now)) {
+                    continue;
+                }
+                int type = random.nextInt(SERVICE_TYPES.length);
+                batch.roomServices.add(new Object[] {
+                    TimeOrderedIdGenerator.nextId(idNode), room.getRoomNumber(), SERVICE_TYPES[type],
+                    SERVICE_AMOUNTS[type], "Synthetic " + SERVICE_TYPES[type].toLowerCase().replace('_', ' '),
+                    requestedAt, completedAt, completedAt, guestName, bookingId
+                });
+                counts.merge("roomServices", 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Target share of rooms sold on the night starting on the given day
+     */
+    private static double occupancy(LocalDate day, Settings settings) {
+        double season = Math.cos(2 * Math.PI * (day.getDayOfYear() - PEAK_DAY_OF_YEAR) / 365.25);
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.FRIDAY || day.getDayOfWeek() == DayOfWeek.SATURDAY;
+        double occupancy = settings.baseOccupancy() + settings.seasonalAmplitude() * season
+                + (weekend ? settings.weekendUplift() : 0);
+        return Math.min(0.98, Math.max(0.02, occupancy));
+    }
+
+    /**
+     * Geometric stay length with the configured mean, at least one night
+     */
+    private static int stayLength(Settings settings, SplittableRandom random) {
+        double stayOn = (settings.meanStayNights() - 1) / settings.meanStayNights();
+        int nights = 1;
+        while (nights < MAX_STAY_NIGHTS && random.nextDouble() < stayOn) {
+            nights++;
+        }
+        return nights;
+    }
+
+    private void write(Batch batch) {
+        if (batch.bookings.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_BOOKING, batch.bookings);
+            if (!batch.roomNights.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ROOM_NIGHT, batch.roomNights);
+            }
+            if (!batch.roomServices.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ROOM_SERVICE, batch.roomServices);
+            }
+        });
+        batch.bookings.clear();
+        batch.roomNights.clear();
+        batch.roomServices.clear();
+    }
+}
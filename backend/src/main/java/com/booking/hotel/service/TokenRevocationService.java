@@ -0,0 +1,179 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.RevokedToken;
+import com.booking.hotel.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked JWTs, by jti.
+ *
+ * Revocations are stored in revoked_tokens and mirrored in memory as a Bloom filter plus
+ * the exact set of ids. Almost every token checked is not revoked, and the Bloom filter
+ * answers that from a few bit reads; only its rare positives consult the exact set.
+ *
+ * The in-memory copy is loaded before the application serves requests and rebuilt on a
+ * schedule. Each rebuild deletes revocations of tokens that have expired (the parser
+ * rejects those anyway), resizes the filter for the remaining ones and picks up
+ * revocations made by other instances.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${security.revocation.expected-tokens:10000}") int expectedTokens,
+                                  @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Revocation false positive rate must be between 0 and 1");
+        }
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedTokens = Math.max(1, expectedTokens);
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = new Snapshot(this.expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Load revocations before the first request is authenticated
+     */
+    @PostConstruct
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-ms:60000}",
+               initialDelayString = "${security.revocation.refresh-interval-ms:60000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Prune expired revocations and rebuild the in-memory set from the database
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = transactionTemplate.execute(status -> {
+                revokedTokenRepository.deleteExpired(now);
+                return revokedTokenRepository.findUnexpired(now);
+            });
+
+            Snapshot fresh = new Snapshot(Math.max(expectedTokens, rows.size() * 2), falsePositiveRate);
+            for (Object[] row : rows) {
+                fresh.add((String) row[0]);
+            }
+            this.snapshot = fresh;
+        }
+    }
+
+    /**
+     * Whether the token with this jti has been revoked. Tokens without a jti cannot be.
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && snapshot.contains(jti);
+    }
+
+    /**
+     * Revoke a token until it expires
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked");
+        }
+        if (expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        revokedTokenRepository.save(new RevokedToken(jti,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        synchronized (writeLock) {
+            snapshot.add(jti);
+        }
+    }
+
+    /**
+     * Bloom filter over the revoked ids backed by the exact set. Bits are only ever set,
+     * so readers need no lock; a rebuild publishes a new snapshot instead of clearing.
+     */
+    private static final class Snapshot {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+        Snapshot(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                    / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+            this.bits = new AtomicLongArray((int) (bitCount / 64));
+        }
+
+        void add(String jti) {
+            revoked.add(jti);
+            long hash = hash(jti);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                long mask = 1L << bit;
+                bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean contains(String jti) {
+            long hash = hash(jti);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return revoked.contains(jti);
+        }
+
+        /**
+         * 64-bit hash of the id (FNV-1a over its chars, then the murmur3 finalizer), split
+         * into two 32-bit hashes for double hashing. String.hashCode has only 32 bits, so
+         * ids colliding there would share every probe.
+         */
+        private static long hash(String jti) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < jti.length(); i++) {
+                h ^= jti.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.booking.hotel.service;
 import com.booking.hotel.model.User;
 import com.booking.hotel.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -11,11 +11,26 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    /**
+     * What request authentication needs to know about a user
+     */
+    public record Principal(String email, User.Role role, boolean active) {
+    }
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Value("${security.principal.cache-ttl:30000}")
+    private long principalCacheTtl;
+
+    private final ExpiringCache<String, Principal> principals;
+
+    public UserService(@Value("${security.principal.cache-max-entries:10000}") int principalCacheMaxEntries) {
+        this.principals = new ExpiringCache<>(principalCacheMaxEntries);
+    }
 
     public User registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -23,7 +38,7 @@ public class UserService {
         }
 
         // Encode password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         
         return userRepository.save(user);
     }
@@ -32,23 +47,60 @@ public class UserService {
         return userRepository.findByEmailAndIsActive(email, true);
     }
 
+    /**
+     * Role of an active user, for authenticating a request. Lookups are cached for
+     * security.principal.cache-ttl; saveOAuthUser evicts the entry at once, changes made
+     * elsewhere (another instance, the database) show after the TTL.
+     */
+    public Optional<Principal> findPrincipal(String email) {
+        Principal principal = principals.get(email);
+        if (principal == null) {
+            Optional<User> user = userRepository.findByEmail(email);
+            if (user.isEmpty()) {
+                return Optional.empty();
+            }
+            principal = new Principal(email, user.get().getRole(), Boolean.TRUE.equals(user.get().getIsActive()));
+            principals.put(email, principal, System.currentTimeMillis() + principalCacheTtl);
+        }
+        return principal.active() ? Optional.of(principal) : Optional.empty();
+    }
+
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHashingService.matches(rawPassword, encodedPassword);
     }
 
+    /**
+     * Check a user's password. A hash made with a lower BCrypt strength than the
+     * configured one is replaced while the raw password is at hand.
+     *
+     * @throws PasswordHashingBusyException if the hashing pool is full
+     */
     public User authenticateUser(String email, String password) {
         Optional<User> userOptional = findByEmail(email);
         
         if (userOptional.isPresent()) {
             User user = userOptional.get();
             if (validatePassword(password, user.getPassword())) {
-                return user;
+                return rehashIfNeeded(user, password);
             }
         }
         
         throw new RuntimeException("Invalid email or password");
     }
 
+    private User rehashIfNeeded(User user, String password) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return user;
+        }
+        try {
+            user.setPassword(passwordHashingService.encode(password));
+            return userRepository.save(user);
+        } catch (PasswordHashingBusyException e) {
+            // The login already succeeded; upgrade on a later one
+            return user;
+        }
+    }
+
     public User saveOAuthUser(String email, String firstName, String lastName) {
         Optional<User> existingUser = userRepository.findByEmail(email);
         
@@ -58,7 +110,9 @@ public class UserService {
             user.setFirstName(firstName);
             user.setLastName(lastName);
             user.setIsActive(true);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            principals.invalidate(email);
+            return saved;
         } else {
             // Create new user from OAuth
             User newUser = new User();
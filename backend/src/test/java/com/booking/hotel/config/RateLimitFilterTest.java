@@ -0,0 +1,49 @@
+package com.booking.hotel.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimitFilter.Limiter limiter(int burst, int maxBuckets) {
+        return new RateLimitFilter.Limiter(INTERVAL, burst, maxBuckets,
+                new SimpleMeterRegistry().counter("http.rate_limited"));
+    }
+
+    @Test
+    void rejectsPastBurstUntilATokenRefills() {
+        RateLimitFilter.Limiter limiter = limiter(2, 100);
+
+        assertThat(limiter.acquire("alice", 0)).isZero();
+        assertThat(limiter.acquire("alice", 0)).isZero();
+        assertThat(limiter.acquire("alice", 0)).isEqualTo(INTERVAL);
+        assertThat(limiter.acquire("alice", INTERVAL)).isZero();
+    }
+
+    @Test
+    void clientsBeyondTheBoundDoNotShareABucket() {
+        RateLimitFilter.Limiter limiter = limiter(1, 16);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.acquire("client-" + i, 0)).isZero();
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void evictsTheLeastRecentlySeenClient() {
+        RateLimitFilter.Limiter limiter = limiter(1, 64);
+        limiter.acquire("busy", 0);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire("client-" + i, 0);
+            assertThat(limiter.acquire("busy", 0)).isPositive();
+        }
+    }
+}
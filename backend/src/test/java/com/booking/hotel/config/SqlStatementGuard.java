@@ -0,0 +1,92 @@
+package com.booking.hotel.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread so tests can pin
+ * the statement budget of a service method, e.g.
+ * {@code SqlStatementGuard.expectAtMost(1, "today's check-ins", bookingService::getTodayCheckIns)}.
+ * A lazy association touched in a loop shows up as one statement per row and fails the
+ * check. Tests register it with {@code @Import(SqlStatementGuard.class)}.
+ */
+public class SqlStatementGuard implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private static volatile boolean registered;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        registered = true;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run work and fail if it issued more than maxStatements SQL statements on this thread
+     */
+    public static <T> T expectAtMost(int maxStatements, String description, Supplier<T> work) {
+        List<String> statements = new ArrayList<>();
+        T result = record(statements, work);
+        if (statements.size() > maxStatements) {
+            throw new IllegalStateException(description + " issued " + statements.size()
+                    + " SQL statements, expected at most " + maxStatements + ": " + statements);
+        }
+        return result;
+    }
+
+    /**
+     * Run work and return the SQL statements it issued on this thread
+     */
+    public static List<String> statementsOf(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        record(statements, () -> {
+            work.run();
+            return null;
+        });
+        return statements;
+    }
+
+    private static <T> T record(List<String> statements, Supplier<T> work) {
+        if (!registered) {
+            throw new IllegalStateException(
+                    "SQL statement guard is not registered; add @Import(SqlStatementGuard.class) to the test");
+        }
+
+        List<String> outer = STATEMENTS.get();
+        STATEMENTS.set(statements);
+        try {
+            return work.get();
+        } finally {
+            if (outer != null) {
+                outer.addAll(statements);
+            }
+            STATEMENTS.set(outer);
+        }
+    }
+
+    /**
+     * Run work and fail if it issued more than maxStatements SQL statements on this thread
+     */
+    public static void expectAtMost(int maxStatements, String description, Runnable work) {
+        expectAtMost(maxStatements, description, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
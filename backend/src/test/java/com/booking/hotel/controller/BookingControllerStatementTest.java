@@ -0,0 +1,119 @@
+package com.booking.hotel.controller;
+
+import com.booking.hotel.config.SqlStatementGuard;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the booking read endpoints. Every booking below sits in its own
+ * room, so loading rooms one at a time would issue a statement per row and exceed the
+ * budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementGuard.class)
+@WithMockUser(roles = "ADMIN")
+class BookingControllerStatementTest {
+
+    private static final int BOOKINGS_PER_LIST = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void createBookings() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < BOOKINGS_PER_LIST; i++) {
+            bookings.add(save("9" + i + "1", today, today.plusDays(2), Booking.BookingStatus.BOOKED));
+            bookings.add(save("9" + i + "2", today.minusDays(2), today, Booking.BookingStatus.CHECKED_IN));
+        }
+    }
+
+    @AfterEach
+    void deleteBookings() {
+        bookingRepository.deleteAll(bookings);
+        roomRepository.deleteAll(bookings.stream().map(Booking::getRoom).toList());
+        bookings.clear();
+    }
+
+    @Test
+    void bookingListIsOneCountAndOnePageQuery() throws Exception {
+        expectAtMost(2, "booking list", "/api/bookings?size=" + bookings.size())
+                .andExpect(jsonPath("$.content.length()").value(bookings.size()));
+    }
+
+    @Test
+    void bookingDetailIsOneQuery() throws Exception {
+        Booking booking = bookings.get(0);
+        expectAtMost(1, "booking detail", "/api/bookings/" + booking.getId())
+                .andExpect(jsonPath("$.roomNumber").value(booking.getRoom().getRoomNumber()));
+    }
+
+    @Test
+    void todayCheckInsIsOneQuery() throws Exception {
+        expectAtMost(1, "today's check-ins", "/api/bookings/today/check-ins")
+                .andExpect(jsonPath("$.length()").value(BOOKINGS_PER_LIST));
+    }
+
+    @Test
+    void todayCheckOutsIsOneQuery() throws Exception {
+        expectAtMost(1, "today's check-outs", "/api/bookings/today/check-outs")
+                .andExpect(jsonPath("$.length()").value(BOOKINGS_PER_LIST));
+    }
+
+    @Test
+    void currentGuestsIsOneQuery() throws Exception {
+        expectAtMost(1, "current guests", "/api/bookings/current-guests")
+                .andExpect(jsonPath("$.length()").value(BOOKINGS_PER_LIST));
+    }
+
+    private ResultActions expectAtMost(int maxStatements, String description, String url) {
+        return SqlStatementGuard.expectAtMost(maxStatements, description, () -> {
+            try {
+                return mockMvc.perform(get(url)).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(description + " request failed", e);
+            }
+        });
+    }
+
+    private Booking save(String roomNumber, LocalDate checkIn, LocalDate checkOut, Booking.BookingStatus status) {
+        Room room = roomRepository.save(new Room(roomNumber, Room.RoomType.STANDARD,
+                new BigDecimal("100.00"), 2, 0, null, true));
+        Booking booking = new Booking("Test", "Guest " + roomNumber, "they/them", checkIn, checkOut,
+                2, 0, room, new BigDecimal("200.00"));
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
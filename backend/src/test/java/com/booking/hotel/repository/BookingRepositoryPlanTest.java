@@ -0,0 +1,145 @@
+package com.booking.hotel.repository;
+
+import com.booking.hotel.config.SqlStatementGuard;
+import com.booking.hotel.entity.Amenity;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the live booking date finders. Each finder is run once to capture the
+ * SQL Hibernate generates, which is then explained by the embedded database; a finder
+ * whose predicates stop matching an index falls back to a table scan and fails here.
+ * Finders with a fetch plan are held to the statements the plan promises.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(SqlStatementGuard.class)
+class BookingRepositoryPlanTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 3, 8);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private AmenityRepository amenityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void createBookings() {
+        for (int i = 0; i < 4; i++) {
+            Room room = roomRepository.save(new Room("8" + i, Room.RoomType.STANDARD,
+                    new BigDecimal("100.00"), 2, 0, null, true));
+            rooms.add(room);
+            for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+                LocalDate checkIn = FROM.plusDays(status.ordinal() * 3L);
+                Booking booking = new Booking("Plan", "Guest " + i, "they/them", checkIn, checkIn.plusDays(2),
+                        2, 0, room, new BigDecimal("200.00"));
+                booking.setStatus(status);
+                bookings.add(bookingRepository.save(booking));
+            }
+        }
+    }
+
+    @AfterEach
+    void deleteBookings() {
+        bookingRepository.deleteAll(bookings);
+        roomRepository.deleteAll(rooms);
+        bookings.clear();
+        rooms.clear();
+    }
+
+    @Test
+    void checkInRangeUsesCheckInIndex() {
+        String sql = onlyStatement(() -> bookingRepository.findViewsByDateRange(FROM, TO));
+        assertThat(plan(sql, FROM, TO)).contains("idx_bookings_check_in_date");
+    }
+
+    @Test
+    void rollupRowsUseCheckInIndex() {
+        String sql = onlyStatement(() -> bookingRepository.findRollupRows(FROM, TO));
+        assertThat(plan(sql, TO, FROM)).contains("idx_bookings_check_in_date");
+    }
+
+    @Test
+    void todayCheckInsUseStatusCheckInIndex() {
+        String sql = onlyStatement(() -> bookingRepository.findTodayCheckIns(FROM));
+        assertThat(plan(sql, FROM)).contains("idx_bookings_status_check_in");
+    }
+
+    @Test
+    void todayCheckOutsUseStatusCheckOutIndex() {
+        String sql = onlyStatement(() -> bookingRepository.findTodayCheckOuts(FROM));
+        assertThat(plan(sql, FROM)).contains("idx_bookings_status_check_out");
+    }
+
+    @Test
+    void overlappingStaysUseRoomStatusDatesIndex() {
+        Long roomId = rooms.get(0).getId();
+        String sql = onlyStatement(() -> bookingRepository.findStaysOverlapping(Set.of(roomId), FROM, TO));
+        assertThat(plan(sql, roomId, TO, FROM)).contains("idx_bookings_room_status_dates");
+    }
+
+    @Test
+    void overlappingStaysSkipCancelledBookings() {
+        Long roomId = rooms.get(0).getId();
+        List<Object[]> stays = bookingRepository.findStaysOverlapping(Set.of(roomId), FROM, FROM.plusDays(12));
+        assertThat(stays).hasSize(Booking.BookingStatus.values().length - 1);
+    }
+
+    @Test
+    void roomAmenitiesGraphLoadsInOneStatement() {
+        List<Amenity> amenities = amenityRepository.saveAll(List.of(
+                new Amenity("Plan Balcony", null, null), new Amenity("Plan Minibar", null, null)));
+        Room room = rooms.get(0);
+        room.getAmenities().addAll(amenities);
+        rooms.set(0, roomRepository.save(room));
+        Long bookingId = bookings.get(0).getId();
+        try {
+            List<String> statements = SqlStatementGuard.statementsOf(() -> assertThat(
+                    bookingRepository.findWithRoomAmenitiesById(bookingId).orElseThrow()
+                            .getRoom().getAmenities()).hasSize(2));
+            assertThat(statements).hasSize(1);
+        } finally {
+            room = rooms.get(0);
+            room.getAmenities().clear();
+            rooms.set(0, roomRepository.save(room));
+            amenityRepository.deleteAll(amenities);
+        }
+    }
+
+    private String onlyStatement(Runnable finder) {
+        List<String> statements = SqlStatementGuard.statementsOf(finder);
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    private String plan(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters).toLowerCase();
+    }
+}
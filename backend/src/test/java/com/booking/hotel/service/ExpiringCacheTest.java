@@ -0,0 +1,42 @@
+package com.booking.hotel.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private static long inAMinute() {
+        return System.currentTimeMillis() + 60_000;
+    }
+
+    @Test
+    void dropsExpiredEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(100);
+        cache.put("live", "a", inAMinute());
+        cache.put("expired", "b", System.currentTimeMillis() - 1);
+
+        assertThat(cache.get("live")).isEqualTo("a");
+        assertThat(cache.get("expired")).isNull();
+    }
+
+    @Test
+    void keepsCachingNewKeysWhenFull() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(64);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("key-" + i, "value", inAMinute());
+            assertThat(cache.get("key-" + i)).isEqualTo("value");
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(64);
+        cache.put("hot", "value", inAMinute());
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("key-" + i, "value", inAMinute());
+            assertThat(cache.get("hot")).isEqualTo("value");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.dto.CheckoutSummaryDTO;
+import com.booking.hotel.dto.ServiceChargeDTO;
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.FolioRepository;
+import com.booking.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FolioServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2031, 6, 10);
+
+    @Autowired
+    private FolioService folioService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private FolioRepository folioRepository;
+
+    private Room room;
+    private Booking booking;
+
+    @AfterEach
+    void cleanUp() {
+        if (booking != null) {
+            bookingRepository.deleteById(booking.getId());
+        }
+        if (room != null) {
+            roomRepository.delete(room);
+        }
+    }
+
+    @Test
+    void summaryOfAnUnopenedFolioIsReadOnlyAndTaxesTheWholeStay() throws Exception {
+        room = roomRepository.save(new Room("801", Room.RoomType.STANDARD,
+                new BigDecimal("33.35"), 2, 0, null, true));
+        Booking checkedIn = new Booking("Folio", "Guest", "they/them",
+                CHECK_IN, CHECK_IN.plusDays(3), 2, 0, room, new BigDecimal("100.05"));
+        checkedIn.setStatus(Booking.BookingStatus.CHECKED_IN);
+        booking = bookingRepository.save(checkedIn);
+
+        // Concurrent first reads must not race to open the folio
+        List<CompletableFuture<CheckoutSummaryDTO>> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(CompletableFuture.supplyAsync(
+                    () -> folioService.getSummary(booking, CHECK_IN.plusDays(3))));
+        }
+        for (CompletableFuture<CheckoutSummaryDTO> read : reads) {
+            CheckoutSummaryDTO summary = read.get(30, TimeUnit.SECONDS);
+            // 10% of the 100.05 room total, not 3 nights of 3.335 rounded up
+            assertThat(tax(summary)).isEqualByComparingTo("10.01");
+            assertThat(summary.getGrandTotal()).isEqualByComparingTo("3110.06");
+        }
+        assertThat(folioRepository.findByBookingId(booking.getId())).isEmpty();
+    }
+
+    private static BigDecimal tax(CheckoutSummaryDTO summary) {
+        return summary.getServiceCharges().stream()
+                .filter(charge -> charge.getName().startsWith("Tax"))
+                .map(ServiceChargeDTO::getAmount)
+                .findFirst()
+                .orElseThrow();
+    }
+}
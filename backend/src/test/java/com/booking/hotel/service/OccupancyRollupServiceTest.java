@@ -0,0 +1,126 @@
+package com.booking.hotel.service;
+
+import com.booking.hotel.entity.Booking;
+import com.booking.hotel.entity.DailyOccupancy;
+import com.booking.hotel.entity.Room;
+import com.booking.hotel.repository.BookingRepository;
+import com.booking.hotel.repository.DailyOccupancyRepository;
+import com.booking.hotel.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OccupancyRollupServiceTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2031, 5, 1);
+    private static final LocalDate CHECK_IN = MONTH.plusDays(9);
+
+    @Autowired
+    private OccupancyRollupService occupancyRollupService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private DailyOccupancyRepository dailyOccupancyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Room room;
+    private Room otherRoom;
+    private Booking existing;
+    private Booking booking;
+
+    @AfterEach
+    void cleanUp() {
+        for (Booking saved : new Booking[] {existing, booking}) {
+            if (saved != null) {
+                bookingRepository.deleteById(saved.getId());
+            }
+        }
+        for (Room saved : new Room[] {room, otherRoom}) {
+            if (saved != null) {
+                roomRepository.delete(saved);
+            }
+        }
+        dailyOccupancyRepository.deleteAll(
+                dailyOccupancyRepository.findByStayDateBetweenOrderByStayDateAsc(MONTH, MONTH.plusMonths(1)));
+    }
+
+    @Test
+    void rebuildKeepsADeltaCommittedWhileItRuns() throws Exception {
+        room = roomRepository.save(new Room("701", Room.RoomType.STANDARD,
+                new BigDecimal("100.00"), 2, 0, null, true));
+        otherRoom = roomRepository.save(new Room("702", Room.RoomType.STANDARD,
+                new BigDecimal("100.00"), 2, 0, null, true));
+        // Rows for the stay's days exist before the concurrent delta updates them
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            existing = bookingRepository.save(new Booking("Rollup", "Earlier", "they/them",
+                    CHECK_IN, CHECK_IN.plusDays(2), 2, 0, otherRoom, new BigDecimal("200.00")));
+            occupancyRollupService.recordCreated(List.of(existing));
+        });
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    booking = bookingRepository.save(new Booking("Rollup", "Guest", "they/them",
+                            CHECK_IN, CHECK_IN.plusDays(2), 2, 0, room, new BigDecimal("200.00")));
+                    occupancyRollupService.recordCreated(List.of(booking));
+                    deltaApplied.countDown();
+                    await(rebuildStarted);
+                    sleep(300);
+                }));
+
+        await(deltaApplied);
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(() -> {
+            rebuildStarted.countDown();
+            return occupancyRollupService.rebuild(MONTH, MONTH.plusMonths(1));
+        });
+        writer.get(10, TimeUnit.SECONDS);
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertThat(roomsSold(CHECK_IN)).isEqualTo(2);
+        assertThat(roomsSold(CHECK_IN.plusDays(1))).isEqualTo(2);
+        assertThat(roomsSold(CHECK_IN.plusDays(2))).isZero();
+    }
+
+    private int roomsSold(LocalDate date) {
+        return dailyOccupancyRepository.findById(date).map(DailyOccupancy::getRoomsSold).orElse(0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -109,6 +109,18 @@ function App() {
   };
 
   const handleLogout = () => {
+    const accessToken = localStorage.getItem('access_token');
+    const refreshToken = localStorage.getItem('refresh_token');
+    // Revoke both tokens server-side; the local logout does not wait for it
+    fetch('http://localhost:8080/api/auth/logout', {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        ...(accessToken ? { 'Authorization': `Bearer ${accessToken}` } : {}),
+      },
+      body: JSON.stringify({ refresh_token: refreshToken }),
+    }).catch(() => {});
+
     localStorage.removeItem('access_token');
     localStorage.removeItem('refresh_token');
     setUser(null);
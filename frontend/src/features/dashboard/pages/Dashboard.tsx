@@ -1,6 +1,12 @@
 import React, { useEffect, useState } from 'react';
 import { useAppDispatch, useAppSelector } from '../../../store/hooks';
-import { fetchTodayCheckIns, fetchTodayCheckOuts, fetchOccupancyRate } from '../../../store/dashboardSlice';
+import {
+  fetchDashboardSnapshot,
+  snapshotReceived,
+  bookingChanged,
+  occupancyReceived
+} from '../../../store/dashboardSlice';
+import { dashboardService } from '../services/dashboardService';
 import { 
   checkInGuest, 
   checkOutGuest,
@@ -39,10 +45,35 @@ const Dashboard: React.FC<DashboardProps> = ({ user, onLogout }) => {
     checkoutLoading
   } = useAppSelector((state) => state.bookings);
 
+  // Live updates: the stream sends a snapshot, then deltas as bookings change
   useEffect(() => {
-    dispatch(fetchTodayCheckIns());
-    dispatch(fetchTodayCheckOuts());
-    dispatch(fetchOccupancyRate());
+    let closeStream: (() => void) | null = null;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+    let retryDelay = 2000;
+
+    const connect = () => {
+      closeStream = dashboardService.subscribe({
+        onSnapshot: (snapshot) => {
+          retryDelay = 2000;
+          dispatch(snapshotReceived(snapshot));
+        },
+        onBooking: (delta) => dispatch(bookingChanged(delta)),
+        onOccupancy: (occupancy) => dispatch(occupancyReceived(occupancy)),
+        onError: (error) => {
+          console.error('Dashboard stream error:', error);
+          // Refresh once so the screen is not stale, then reconnect with backoff
+          dispatch(fetchDashboardSnapshot());
+          retryTimer = setTimeout(connect, retryDelay);
+          retryDelay = Math.min(retryDelay * 2, 60000);
+        },
+      });
+    };
+
+    connect();
+    return () => {
+      clearTimeout(retryTimer);
+      closeStream?.();
+    };
   }, [dispatch]);
 
   const handleRoomServiceClick = () => {
@@ -70,10 +101,8 @@ const Dashboard: React.FC<DashboardProps> = ({ user, onLogout }) => {
         }
       }
       
+      // The dashboard stream pushes the updated lists
       await dispatch(checkInGuest(guestId));
-      // Refresh dashboard data after successful check-in
-      dispatch(fetchTodayCheckIns());
-      dispatch(fetchTodayCheckOuts());
     } catch (error) {
       console.error('Failed to check in guest:', error);
     }
@@ -108,9 +137,6 @@ const Dashboard: React.FC<DashboardProps> = ({ user, onLogout }) => {
       setShowCheckoutModal(false);
       dispatch(clearCheckoutSummary());
       setCurrentBookingForCheckout(null);
-      // Refresh dashboard data after successful checkout
-      dispatch(fetchTodayCheckIns());
-      dispatch(fetchTodayCheckOuts());
     } catch (error) {
       console.error('Failed to check out guest:', error);
     }
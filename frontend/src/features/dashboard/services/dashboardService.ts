@@ -1,6 +1,12 @@
 import axios from 'axios';
 import authService from '../../auth/services/authService';
-import type { CheckInGuest, CheckOutGuest, OccupancyRateData } from '../types';
+import type {
+  CheckInGuest,
+  CheckOutGuest,
+  DashboardSnapshot,
+  DashboardStreamHandlers,
+  OccupancyRateData,
+} from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -16,6 +22,35 @@ const createApiInstance = async () => {
   });
 };
 
+// Route one server-sent event block to its handler
+const handleStreamEvent = (block: string, handlers: DashboardStreamHandlers) => {
+  let eventName = 'message';
+  const dataLines: string[] = [];
+  for (const line of block.split('\n')) {
+    if (line.startsWith('event:')) {
+      eventName = line.slice(6).trim();
+    } else if (line.startsWith('data:')) {
+      dataLines.push(line.slice(5));
+    }
+  }
+  if (dataLines.length === 0) {
+    return; // heartbeat comment
+  }
+
+  const data = JSON.parse(dataLines.join('\n'));
+  switch (eventName) {
+    case 'snapshot':
+      handlers.onSnapshot(data);
+      break;
+    case 'booking':
+      handlers.onBooking(data);
+      break;
+    case 'occupancy':
+      handlers.onOccupancy(data);
+      break;
+  }
+};
+
 export const dashboardService = {
   /**
    * Get today's check-ins
@@ -58,6 +93,67 @@ export const dashboardService = {
       throw error;
     }
   },
+
+  /**
+   * Get everything the dashboard shows in one request
+   */
+  async getSnapshot(): Promise<DashboardSnapshot> {
+    try {
+      const api = await createApiInstance();
+      const response = await api.get('/dashboard/snapshot');
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching dashboard snapshot:', error);
+      throw error;
+    }
+  },
+
+  /**
+   * Subscribe to live dashboard updates. Uses fetch rather than EventSource so the
+   * bearer token can be sent. Returns a function that closes the stream.
+   */
+  subscribe(handlers: DashboardStreamHandlers): () => void {
+    const controller = new AbortController();
+
+    (async () => {
+      try {
+        const token = await authService.getValidToken();
+        const response = await fetch(`${API_BASE_URL}/dashboard/stream`, {
+          headers: {
+            'Authorization': token ? `Bearer ${token}` : '',
+            'Accept': 'text/event-stream',
+          },
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`Dashboard stream failed with status ${response.status}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) {
+            break;
+          }
+          buffer += value.replace(/\r\n/g, '\n');
+          let boundary = buffer.indexOf('\n\n');
+          while (boundary >= 0) {
+            handleStreamEvent(buffer.slice(0, boundary), handlers);
+            buffer = buffer.slice(boundary + 2);
+            boundary = buffer.indexOf('\n\n');
+          }
+        }
+        throw new Error('Dashboard stream closed');
+      } catch (error) {
+        if (!controller.signal.aborted) {
+          handlers.onError(error);
+        }
+      }
+    })();
+
+    return () => controller.abort();
+  },
 };
 
 export default dashboardService;
\ No newline at end of file
@@ -1,4 +1,6 @@
 import type { User } from '../../auth/types';
+import type { Booking } from '../../bookings/types';
+import type { RoomService } from '../../roomService/types';
 
 export interface DashboardProps {
   user: User;
@@ -70,4 +72,30 @@ export interface OccupancyRateData {
   occupiedRooms: number;
   availableRooms: number;
   data?: OccupancyDataPoint[];
-}
\ No newline at end of file
+}
+
+// Sections that failed or timed out are null and listed in errors
+export interface DashboardSnapshot {
+  checkIns: CheckInGuest[] | null;
+  checkOuts: CheckOutGuest[] | null;
+  occupancy: OccupancyRateData | null;
+  currentGuests: Booking[] | null;
+  activeRoomServices: RoomService[] | null;
+  bookingCounts: Record<string, number> | null;
+  errors: Record<string, string>;
+  generatedAt: string;
+}
+
+export interface DashboardBookingDelta {
+  bookingId: number;
+  status: string;
+  checkIn: CheckInGuest | null;
+  checkOut: CheckOutGuest | null;
+}
+
+export interface DashboardStreamHandlers {
+  onSnapshot: (snapshot: DashboardSnapshot) => void;
+  onBooking: (delta: DashboardBookingDelta) => void;
+  onOccupancy: (occupancy: OccupancyRateData) => void;
+  onError: (error: unknown) => void;
+}
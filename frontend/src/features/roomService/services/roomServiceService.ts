@@ -2,7 +2,8 @@ import axios from 'axios';
 import authService from '../../auth/services/authService';
 import type { 
   RoomService, 
-  CreateRoomServiceRequest 
+  CreateRoomServiceRequest,
+  DispatchTask
 } from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
@@ -103,6 +104,62 @@ export const roomServiceService = {
     }
   },
 
+  /**
+   * Claim the next task for the signed-in staff member; null when there is nothing to do
+   */
+  async claimNext(types: string[] = []): Promise<RoomService | null> {
+    try {
+      const response = await api.post('/room-services/dispatch/claim', null, {
+        params: { types: types.join(',') || undefined },
+      });
+      return response.status === 204 ? null : response.data;
+    } catch (error) {
+      console.error('Error claiming room service:', error);
+      throw error;
+    }
+  },
+
+  /**
+   * Get pending tasks in dispatch order
+   */
+  async getDispatchQueue(types: string[] = []): Promise<DispatchTask[]> {
+    try {
+      const response = await api.get('/room-services/dispatch/queue', {
+        params: { types: types.join(',') || undefined },
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching dispatch queue:', error);
+      throw error;
+    }
+  },
+
+  /**
+   * Complete a claimed task
+   */
+  async completeClaim(id: number): Promise<RoomService> {
+    try {
+      const response = await api.put(`/room-services/${id}/complete`);
+      return response.data;
+    } catch (error) {
+      console.error('Error completing room service:', error);
+      throw error;
+    }
+  },
+
+  /**
+   * Return a claimed task to the queue
+   */
+  async releaseClaim(id: number): Promise<RoomService> {
+    try {
+      const response = await api.put(`/room-services/${id}/release`);
+      return response.data;
+    } catch (error) {
+      console.error('Error releasing room service:', error);
+      throw error;
+    }
+  },
+
   /**
    * Delete room service request
    */
@@ -8,6 +8,18 @@ export interface RoomService {
   requestedAt: string;
   completedAt?: string;
   guestName?: string;
+  bookingId?: number;
+  claimedBy?: string;
+}
+
+export interface DispatchTask {
+  id: number;
+  roomNumber: string;
+  serviceType: string;
+  description?: string;
+  guestName?: string;
+  requestedAt: string;
+  dueAt: string;
 }
 
 export interface CreateRoomServiceRequest {
@@ -1,5 +1,12 @@
 import { createSlice, createAsyncThunk } from '@reduxjs/toolkit';
-import type { CheckInGuest, CheckOutGuest, OccupancyRateData } from '../features/dashboard/types';
+import type { PayloadAction } from '@reduxjs/toolkit';
+import type {
+  CheckInGuest,
+  CheckOutGuest,
+  DashboardBookingDelta,
+  DashboardSnapshot,
+  OccupancyRateData,
+} from '../features/dashboard/types';
 import { dashboardService } from '../features/dashboard/services/dashboardService';
 import { checkInGuest, checkOutGuest } from './bookingSlice';
 
@@ -37,7 +44,39 @@ const initialState: DashboardState = {
   occupancyError: null,
 };
 
+// Take every section the snapshot delivered; failed sections keep their previous data
+const applySnapshot = (state: DashboardState, snapshot: DashboardSnapshot) => {
+  if (snapshot.checkIns) {
+    state.todayCheckIns = snapshot.checkIns;
+  }
+  if (snapshot.checkOuts) {
+    state.todayCheckOuts = snapshot.checkOuts;
+  }
+  if (snapshot.occupancy) {
+    state.occupancyData = snapshot.occupancy;
+  }
+  state.checkInsError = snapshot.errors?.checkIns ?? null;
+  state.checkOutsError = snapshot.errors?.checkOuts ?? null;
+  state.occupancyError = snapshot.errors?.occupancy ?? null;
+  state.checkInsLoading = false;
+  state.checkOutsLoading = false;
+  state.occupancyLoading = false;
+};
+
 // Async thunks
+export const fetchDashboardSnapshot = createAsyncThunk(
+  'dashboard/fetchDashboardSnapshot',
+  async (_, { rejectWithValue }) => {
+    try {
+      const response = await dashboardService.getSnapshot();
+      return response;
+    } catch (error) {
+      const errorMessage = error instanceof Error ? error.message : 'Failed to fetch dashboard';
+      return rejectWithValue(errorMessage);
+    }
+  }
+);
+
 export const fetchTodayCheckIns = createAsyncThunk(
   'dashboard/fetchTodayCheckIns',
   async (_, { rejectWithValue }) => {
@@ -90,8 +129,45 @@ const dashboardSlice = createSlice({
     clearOccupancyError: (state) => {
       state.occupancyError = null;
     },
+    // Live stream updates
+    snapshotReceived: (state, action: PayloadAction<DashboardSnapshot>) => {
+      applySnapshot(state, action.payload);
+    },
+    bookingChanged: (state, action: PayloadAction<DashboardBookingDelta>) => {
+      const { bookingId, checkIn, checkOut } = action.payload;
+      state.todayCheckIns = state.todayCheckIns.filter(guest => guest.id !== bookingId);
+      state.todayCheckOuts = state.todayCheckOuts.filter(guest => guest.id !== bookingId);
+      if (checkIn) {
+        state.todayCheckIns.push(checkIn);
+      }
+      if (checkOut) {
+        state.todayCheckOuts.push(checkOut);
+      }
+    },
+    occupancyReceived: (state, action: PayloadAction<OccupancyRateData>) => {
+      state.occupancyData = action.payload;
+    },
   },
   extraReducers: (builder) => {
+    // Fetch the whole dashboard at once
+    builder
+      .addCase(fetchDashboardSnapshot.pending, (state) => {
+        state.checkInsLoading = true;
+        state.checkOutsLoading = true;
+        state.occupancyLoading = true;
+      })
+      .addCase(fetchDashboardSnapshot.fulfilled, (state, action) => {
+        applySnapshot(state, action.payload);
+      })
+      .addCase(fetchDashboardSnapshot.rejected, (state, action) => {
+        state.checkInsLoading = false;
+        state.checkOutsLoading = false;
+        state.occupancyLoading = false;
+        state.checkInsError = action.payload as string;
+        state.checkOutsError = action.payload as string;
+        state.occupancyError = action.payload as string;
+      });
+
     // Fetch today check-ins
     builder
       .addCase(fetchTodayCheckIns.pending, (state) => {
@@ -154,7 +230,10 @@ const dashboardSlice = createSlice({
 export const {
   clearCheckInsError,
   clearCheckOutsError,
-  clearOccupancyError
+  clearOccupancyError,
+  snapshotReceived,
+  bookingChanged,
+  occupancyReceived
 } = dashboardSlice.actions;
 
 export default dashboardSlice.reducer;
\ No newline at end of file
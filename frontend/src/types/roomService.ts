@@ -8,6 +8,7 @@ export interface RoomService {
   requestedAt: string;
   completedAt?: string;
   guestName?: string;
+  bookingId?: number;
 }
 
 export interface CreateRoomServiceRequest {